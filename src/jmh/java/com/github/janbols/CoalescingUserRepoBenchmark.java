@@ -0,0 +1,90 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the lookups of many threads in a remote {@link UserRepo} that answers a bulk lookup as fast as a single
+ * one, with and without a {@link CoalescingUserRepo} in front of it.
+ * Run it with <code>-t N</code>: the coalescing repo trades a little latency per lookup for far fewer round trips.
+ * The batch sizes and wait times are printed when the trial ends.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoalescingUserRepoBenchmark {
+
+    private static final int NAMES = 4096;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Param({"100", "1000"})
+    public long windowMicros;
+
+    @Param({"64"})
+    public int maxBatchSize;
+
+    private final Map<Long, PersonName> db = UserRepoBenchmark.users(NAMES);
+    private final PersonName[] names = db.values().toArray(new PersonName[0]);
+    private final UserRepo remote = new UserRepo.InMemory(db) {
+        @Override
+        public Optional<Long> findIdBy(PersonName name) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return super.findIdBy(name);
+        }
+
+        @Override
+        public Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return super.findIdsBy(names);
+        }
+    };
+
+    private CoalescingUserRepo coalescing;
+
+    @Setup
+    public void createRepo() {
+        coalescing = new CoalescingUserRepo(remote, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(windowMicros)),
+                maxBatchSize);
+    }
+
+    @TearDown
+    public void closeRepo() {
+        System.out.println("batch sizes: " + coalescing.batchSizes());
+        System.out.println("wait nanos: " + coalescing.waitNanos());
+        coalescing.close();
+    }
+
+
+    /**
+     * The position of each benchmark thread in the names
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = (int) Thread.currentThread().getId() * 997;
+
+        int next() {
+            return index++ & (NAMES - 1);
+        }
+    }
+
+
+    @Benchmark
+    public Optional<Long> remote(Cursor cursor) {
+        return remote.findIdBy(names[cursor.next()]);
+    }
+
+    @Benchmark
+    public Optional<Long> coalescing(Cursor cursor) {
+        return coalescing.findIdBy(names[cursor.next()]);
+    }
+}
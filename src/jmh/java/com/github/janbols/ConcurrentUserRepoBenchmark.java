@@ -0,0 +1,79 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how reserving and releasing names in a {@link ConcurrentUserRepo} scales with the number of threads,
+ * against the global lock it replaces. All threads work on the same names, so they contend on them.
+ * Run it with <code>-t 1</code>, <code>-t N/2</code> and <code>-t N</code>: per thread, the throughput of the
+ * concurrent repo should stay about the same, while the global lock divides it among the threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentUserRepoBenchmark {
+
+    private static final int NAMES = 4096;
+
+    private final Map<Long, PersonName> db = UserRepoBenchmark.users(NAMES);
+    private final PersonName[] newNames = new PersonName[NAMES];
+
+    private final ConcurrentUserRepo concurrent = new ConcurrentUserRepo(db);
+    private final UserRepo inMemory = new UserRepo.InMemory(db);
+    private final Set<PersonName> lockedReservations = new HashSet<>();
+
+    public ConcurrentUserRepoBenchmark() {
+        for (int i = 0; i < NAMES; i++) {
+            newNames[i] = new PersonName("New" + i, "User" + i);
+        }
+    }
+
+
+    /**
+     * The position of each benchmark thread in the names
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = (int) Thread.currentThread().getId() * 997;
+
+        int next() {
+            return index++ & (NAMES - 1);
+        }
+    }
+
+
+    @Benchmark
+    public boolean reserveAndRelease(Cursor cursor) {
+        Optional<ConcurrentUserRepo.Reservation> reservation = concurrent.reserveIfAbsent(newNames[cursor.next()]);
+        reservation.ifPresent(ConcurrentUserRepo.Reservation::release);
+        return reservation.isPresent();
+    }
+
+    /**
+     * The check and reserve of a name under a global lock, as done before
+     */
+    @Benchmark
+    public boolean globalLockReserveAndRelease(Cursor cursor) {
+        PersonName name = newNames[cursor.next()];
+        boolean reserved;
+        synchronized (lockedReservations) {
+            reserved = !inMemory.findIdBy(name).isPresent() && lockedReservations.add(name);
+        }
+        if (reserved) {
+            synchronized (lockedReservations) {
+                lockedReservations.remove(name);
+            }
+        }
+        return reserved;
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the lookups of {@link UserRepo.InMemory}, {@link CompactUserRepo} and {@link MappedUserRepo},
+ * for names that exist and names that don't.
+ * Every invocation looks up the next name of the workload, so the lookups don't all hit the same cache lines.
+ * <p>
+ * Run {@link #main(String[])} to compare the heap both repos retain for the same users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserRepoBenchmark {
+
+    private static final int NAMES = 4096;
+
+    @Param({"10000", "1000000"})
+    public int users;
+
+    @Param({"inMemory", "compact", "mapped"})
+    public String repo;
+
+    private UserRepo userRepo;
+    private PersonName[] existingNames;
+    private PersonName[] newNames;
+    private int index;
+
+    @Setup
+    public void createRepo() throws IOException {
+        Map<Long, PersonName> db = users(users);
+        switch (repo) {
+            case "compact":
+                userRepo = new CompactUserRepo(db);
+                break;
+            case "mapped":
+                Path snapshot = Files.createTempFile("users", ".snapshot");
+                snapshot.toFile().deleteOnExit();
+                MappedUserRepo.write(db, snapshot);
+                userRepo = MappedUserRepo.open(snapshot);
+                break;
+            default:
+                userRepo = new UserRepo.InMemory(db);
+        }
+
+        existingNames = new PersonName[NAMES];
+        newNames = new PersonName[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            PersonName name = db.get((long) (i * (users / NAMES)));
+            // fresh copies, so equals can't take the identity shortcut
+            existingNames[i] = new PersonName(new String(name.first), new String(name.last));
+            newNames[i] = new PersonName("New" + i, "User" + i);
+        }
+    }
+
+    static Map<Long, PersonName> users(int count) {
+        Map<Long, PersonName> db = new HashMap<>(count * 2);
+        for (long id = 0; id < count; id++) {
+            db.put(id, new PersonName("First" + id, "Last" + (id * 7919 % count)));
+        }
+        return db;
+    }
+
+    @Benchmark
+    public Optional<Long> findExisting() {
+        return userRepo.findIdBy(existingNames[index++ & (NAMES - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Long> findNew() {
+        return userRepo.findIdBy(newNames[index++ & (NAMES - 1)]);
+    }
+
+
+    /**
+     * Prints the heap retained by both repos for the given number of users, one million by default
+     */
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path snapshot = Files.createTempFile("users", ".snapshot");
+        MappedUserRepo.write(users(count), snapshot);
+
+        System.out.printf("%,d users%n", count);
+        System.out.printf("InMemory        retains %,15d bytes%n", retainedHeap(count, UserRepo.InMemory::new));
+        System.out.printf("CompactUserRepo retains %,15d bytes%n", retainedHeap(count, CompactUserRepo::new));
+        System.out.printf("MappedUserRepo  retains %,15d bytes, and maps %,d bytes%n",
+                retainedHeap(count, db -> open(snapshot)), Files.size(snapshot));
+        Files.delete(snapshot);
+    }
+
+    private static UserRepo open(Path snapshot) {
+        try {
+            return MappedUserRepo.open(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The heap retained by a repo created for the given number of users, including the names it keeps
+     */
+    private static long retainedHeap(int count, Function<Map<Long, PersonName>, UserRepo> createRepo) {
+        long before = usedHeap();
+        UserRepo userRepo = createRepo.apply(users(count));
+        long retained = usedHeap() - before;
+        // keeps the repo reachable until after the measurement
+        userRepo.findIdBy(new PersonName("First0", "Last0"));
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes before a repo can answer lookups: building {@link UserRepo.InMemory} or
+ * {@link CompactUserRepo} out of the loaded users, against opening a {@link MappedUserRepo} snapshot of them.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserRepoStartupBenchmark {
+
+    @Param({"1000000"})
+    public int users;
+
+    private Map<Long, PersonName> db;
+    private Path snapshot;
+
+    @Setup
+    public void writeSnapshot() throws IOException {
+        db = UserRepoBenchmark.users(users);
+        snapshot = Files.createTempFile("users", ".snapshot");
+        MappedUserRepo.write(db, snapshot);
+    }
+
+    @TearDown
+    public void deleteSnapshot() throws IOException {
+        Files.delete(snapshot);
+    }
+
+    @Benchmark
+    public UserRepo inMemory() {
+        return new UserRepo.InMemory(db);
+    }
+
+    @Benchmark
+    public UserRepo compact() {
+        return new CompactUserRepo(db);
+    }
+
+    @Benchmark
+    public UserRepo mapped() throws IOException {
+        return MappedUserRepo.open(snapshot);
+    }
+}
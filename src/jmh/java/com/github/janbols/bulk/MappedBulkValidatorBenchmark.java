@@ -0,0 +1,74 @@
+package com.github.janbols.bulk;
+
+import com.github.janbols.UserRepo;
+import com.github.janbols.domain.PersonName;
+import com.github.janbols.validator.RuleComposingPersonValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures the records per second the {@link MappedBulkValidator} validates out of a CSV file, for a number of
+ * workers. Run it with {@link MappedBulkValidatorScalingRunner} to see how it scales from 1 to all cores.
+ * The {@link BulkValidationPipeline} with as many validator threads is measured on the same file as a reference.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedBulkValidatorBenchmark {
+
+    static final int RECORDS = 1_000_000;
+
+    @Param({"1"})
+    public int workers;
+
+    private Path input;
+    private MappedBulkValidator mapped;
+    private BulkValidationPipeline pipeline;
+
+    @Setup
+    public void writeInput() throws IOException {
+        input = Files.createTempFile("persons", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(input, UTF_8)) {
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write("Jan" + i + ",Bols,foo" + i + (i % 10 == 0 ? "bar.com," : "@bar.com,") + (i % 120));
+                writer.newLine();
+            }
+        }
+        RuleComposingPersonValidator validator = new RuleComposingPersonValidator(
+                new UserRepo.InMemory(Collections.singletonMap(1L, new PersonName("Donaldo", "Trumpo"))));
+        mapped = new MappedBulkValidator(validator::validate, workers, 1 << 20);
+        pipeline = new BulkValidationPipeline(validator::validate, 1024, 4 * workers, workers);
+    }
+
+    @TearDown
+    public void deleteInput() throws IOException {
+        Files.delete(input);
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public BulkValidationPipeline.Summary mapped(Blackhole blackhole) throws IOException {
+        return mapped.run(input, RecordFormat.CSV, (line, person) -> blackhole.consume(person),
+                (line, errors) -> blackhole.consume(errors));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public BulkValidationPipeline.Summary pipeline(Blackhole blackhole) throws IOException {
+        return pipeline.run(input, RecordFormat.CSV, (line, person) -> blackhole.consume(person),
+                (line, errors) -> blackhole.consume(errors));
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.janbols.bulk;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Runs the {@link MappedBulkValidatorBenchmark} with 1, 2, 4, ... workers up to the number of available processors,
+ * writes the results as json to the given directory, <code>build/reports/jmh</code> by default,
+ * and prints the records per second of every worker count with its speedup over a single worker.
+ */
+public final class MappedBulkValidatorScalingRunner {
+
+    private MappedBulkValidatorScalingRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        File reportDir = new File(args.length > 0 ? args[0] : "build/reports/jmh");
+        reportDir.mkdirs();
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        SortedSet<Integer> workerCounts = new TreeSet<>();
+        for (int workers = 1; workers < processors; workers *= 2) {
+            workerCounts.add(workers);
+        }
+        workerCounts.add(processors);
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(MappedBulkValidatorBenchmark.class.getName())
+                .param("workers", workerCounts.stream().map(String::valueOf).toArray(String[]::new))
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(reportDir, "bulk-validation-scaling.json").getPath())
+                .build())
+                .run();
+
+        System.out.printf("%n%-10s %8s %16s %8s%n", "benchmark", "workers", "records/s", "speedup");
+        for (String benchmark : new String[]{"mapped", "pipeline"}) {
+            double single = 0;
+            for (int workers : workerCounts) {
+                for (RunResult result : results) {
+                    if (result.getParams().getBenchmark().endsWith("." + benchmark)
+                            && result.getParams().getParam("workers").equals(String.valueOf(workers))) {
+                        double recordsPerSecond = result.getPrimaryResult().getScore();
+                        if (workers == 1)
+                            single = recordsPerSecond;
+                        System.out.printf("%-10s %8d %16.0f %7.2fx%n",
+                                benchmark, workers, recordsPerSecond, single == 0 ? 0 : recordsPerSecond / single);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar {@link ColumnKernels} with the Vector API kernels on a column of valid values. The names are
+ * checked for being required, the emails for containing an @ and the ages are parsed. The long names are padded
+ * with leading spaces and the long ages with leading zeros up to 40 characters, and the long emails have a local part
+ * 11 times as long.
+ * <p>
+ * The vector kernels are only loaded on a JVM of version 16 or later with the <code>jdk.incubator.vector</code>
+ * module, so run with <code>-jvmArgsAppend "--add-modules jdk.incubator.vector"</code>.
+ * <p>
+ * On a single core of a 2.1 GHz Xeon with AVX-512 (HotSpot 21, 1024 rows), in microseconds, with the vector kernels
+ * using 512 bit vectors and, with <code>-XX:UseAVX=2</code>, 256 bit vectors:
+ * <pre>
+ * column       values   scalar   vector 512   vector 256
+ * first name   short      4.8       4.3          4.3
+ * first name   long      19.6      17.0         16.5
+ * email        short      5.9       6.2          5.9
+ * email        long      17.2      15.4         15.2
+ * age          short      7.3       7.6          7.4
+ * age          long      69.3      22.0         24.1
+ * </pre>
+ * Only the long integers are parsed 3 times as fast. The long names are about 15% faster, as copying their characters
+ * into an array costs about as much as checking them one by one. The short values are shorter than a vector, so both
+ * kernels check them the same way, and both search the emails with {@link String#contains(CharSequence)}, so those
+ * differences are noise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarKernelsBenchmark {
+    private static final int ROWS = 1024;
+
+    @Param({"FIRSTNAME", "EMAIL", "AGE"})
+    public Field column;
+
+    @Param({"false", "true"})
+    public boolean longValues;
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    private ColumnKernels checks;
+    private final String[] values = new String[ROWS];
+    private final BitSet rows = new BitSet(ROWS);
+    private final int[] ints = new int[ROWS];
+
+    @Setup
+    public void setUp() {
+        checks = kernels.equals("scalar") ? ColumnKernels.SCALAR : ColumnKernels.load();
+        if (kernels.equals("vector") && checks == ColumnKernels.SCALAR)
+            throw new IllegalStateException("the vector kernels need the jdk.incubator.vector module");
+        for (int i = 0; i < ROWS; i++) {
+            String value = column == Field.FIRSTNAME ? "Jan" + i :
+                    column == Field.EMAIL ? "jan.bols" + i + "@example.com" :
+                            Integer.toString(i % 100);
+            values[i] = !longValues ? value :
+                    column == Field.AGE ? StringUtils.leftPad(value, 40, '0') :
+                            column == Field.EMAIL ? StringUtils.repeat("jan.bols", 11) + i + "@example.com" :
+                                    StringUtils.leftPad(value, 40);
+        }
+        rows.set(0, ROWS);
+        if (!check().isEmpty())
+            throw new IllegalStateException("the " + column + " column should be valid");
+    }
+
+    /**
+     * Returns the rows that fail
+     */
+    @Benchmark
+    public BitSet check() {
+        BitSet failures = new BitSet(ROWS);
+        if (column == Field.FIRSTNAME)
+            checks.required(values, rows, failures);
+        else if (column == Field.EMAIL)
+            checks.containing(values, "@", rows, failures);
+        else
+            checks.isInteger(values, ints, rows, failures);
+        return failures;
+    }
+}
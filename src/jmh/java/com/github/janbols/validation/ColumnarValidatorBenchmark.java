@@ -0,0 +1,84 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.domain.PersonFormBatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.janbols.domain.PersonForm.Field.*;
+import static com.github.janbols.validation.ValidationRule.*;
+
+/**
+ * Compares validating the fields of a batch of forms one form at a time with validating them column by column
+ * with the {@link ColumnarValidator}. Both ask for the errors of the invalid forms only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarValidatorBenchmark {
+    private static final int ROWS = 1024;
+
+    private final ValidationRule<String, String> nameRule = required.chain(maxLength(250));
+    private final ValidationRule<String, String> emailRule =
+            required.chain(combine(maxLength(100), containing("@"), (s1, s2) -> s1));
+    private final ValidationRule<String, Integer> ageRule = isInteger.chain(between(0, 100));
+
+    private final ColumnarValidator columnar = ColumnarValidator.builder()
+            .column(FIRSTNAME, nameRule)
+            .column(LASTNAME, nameRule)
+            .column(EMAIL, emailRule)
+            .optionalColumn(AGE, ageRule)
+            .build();
+    private final ValidationRule<String, ?> optionalAgeRule = optionalOr(ageRule);
+
+    /**
+     * The percentage of invalid forms
+     */
+    @Param({"1", "25"})
+    public int invalidPercentage;
+
+    private List<PersonForm> forms;
+    private PersonFormBatch batch;
+
+    @Setup
+    public void setUp() {
+        forms = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            forms.add(i % 100 < invalidPercentage ?
+                    new PersonForm("Jan" + i, "", "foobar.com", "132") :
+                    new PersonForm("Jan" + i, "Bols", "foo" + i + "@bar.com", Integer.toString(i % 100)));
+        }
+        batch = PersonFormBatch.of(forms);
+    }
+
+    @Benchmark
+    public void rowByRow(Blackhole blackhole) {
+        for (PersonForm form : forms) {
+            List<String> errors = Errors.empty();
+            errors = errorsOf(nameRule.validate(form.firstName, FIRSTNAME), errors);
+            errors = errorsOf(nameRule.validate(form.lastName, LASTNAME), errors);
+            errors = errorsOf(emailRule.validate(form.email, EMAIL), errors);
+            errors = errorsOf(optionalAgeRule.validate(form.age, AGE), errors);
+            blackhole.consume(errors);
+        }
+    }
+
+    @Benchmark
+    public void columnByColumn(Blackhole blackhole) {
+        ColumnarValidator.Result result = columnar.validate(batch);
+        for (int row = 0; row < result.size(); row++) {
+            blackhole.consume(result.errors(row));
+        }
+    }
+
+    private static List<String> errorsOf(Validation<List<String>, ?> validation, List<String> errors) {
+        return validation.isSuccess() ? errors : combineErrors.apply(errors, validation.fail());
+    }
+}
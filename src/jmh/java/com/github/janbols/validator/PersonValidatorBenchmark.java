@@ -0,0 +1,148 @@
+package com.github.janbols.validator;
+
+import com.github.janbols.UserRepo;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.domain.PersonName;
+import com.github.janbols.validator.hk.HKArrowPersonValidatorWithTargetless;
+import com.github.janbols.validator.hk.HKArrowPersonValidatorWithUntargeted;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares all {@link PersonForm} validator implementations on the same workloads.
+ * Every invocation validates the next form of the workload, so the JIT can't specialize on a single form.
+ * <p>
+ * Run it with {@link PersonValidatorBenchmarkRunner} to get the throughput, average time and allocation rate
+ * at 1, N/2 and N threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonValidatorBenchmark {
+
+    private static final int FORMS = 1024;
+
+    /**
+     * <code>valid</code> forms only, <code>invalid</code> forms only, or a <code>mixed</code> half and half
+     */
+    @Param({"valid", "invalid", "mixed"})
+    public String workload;
+
+    private final UserRepo userRepo = new UserRepo.InMemory(ImmutableMap.of(
+            1L, new PersonName("Donaldo", "Trumpo"),
+            2L, new PersonName("Mata", "Hari")));
+
+    private final ImperativePersonValidator imperative = new ImperativePersonValidator(userRepo);
+    private final CombiningPersonValidator combining = new CombiningPersonValidator(userRepo);
+    private final RuleBasedPersonValidator ruleBased = new RuleBasedPersonValidator(userRepo);
+    private final RuleComposingPersonValidator ruleComposing = new RuleComposingPersonValidator(userRepo);
+    private final FunctionalJavaPersonValidator functionalJava = new FunctionalJavaPersonValidator(userRepo);
+    private final VavrPersonValidator vavr = new VavrPersonValidator(userRepo);
+    private final ArrowPersonValidator arrow = new ArrowPersonValidator(userRepo);
+    private final HKArrowPersonValidatorWithTargetless hkTargetless = new HKArrowPersonValidatorWithTargetless(userRepo);
+    private final HKArrowPersonValidatorWithUntargeted hkUntargeted = new HKArrowPersonValidatorWithUntargeted(userRepo);
+
+    private PersonForm[] forms;
+
+    @Setup
+    public void createForms() {
+        Random random = new Random(42);
+        forms = new PersonForm[FORMS];
+        for (int i = 0; i < FORMS; i++) {
+            boolean valid = workload.equals("valid") || (workload.equals("mixed") && random.nextBoolean());
+            forms[i] = valid ? validForm(i) : invalidForm(i);
+        }
+    }
+
+    private static PersonForm validForm(int i) {
+        return new PersonForm("Jan" + i, "Bols", "foo" + i + "@bar.com", String.valueOf(i % 100));
+    }
+
+    /**
+     * Cycles through forms failing on every rule: emptiness, length, format, range and the user repository
+     */
+    private static PersonForm invalidForm(int i) {
+        switch (i % 4) {
+            case 0:
+                return new PersonForm(" ", "Bols", "foobar.com", "brol");
+            case 1:
+                return new PersonForm("Jan", repeat('x', 251), "foo@bar.com" + repeat('x', 100), "101");
+            case 2:
+                return new PersonForm("Donaldo", "Trumpo", "foo" + i + "@bar.com", "-5");
+            default:
+                return new PersonForm("Jan" + i, "", "foo" + i + "bar.com", "32");
+        }
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+
+    /**
+     * The position of each benchmark thread in the workload
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        PersonForm next(PersonForm[] forms) {
+            return forms[index++ & (FORMS - 1)];
+        }
+    }
+
+
+    @Benchmark
+    public Object imperative(Cursor cursor) {
+        return imperative.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object combining(Cursor cursor) {
+        return combining.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object ruleBased(Cursor cursor) {
+        return ruleBased.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object ruleComposing(Cursor cursor) {
+        return ruleComposing.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object functionalJava(Cursor cursor) {
+        return functionalJava.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object vavr(Cursor cursor) {
+        return vavr.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object arrow(Cursor cursor) {
+        return arrow.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object hkArrowTargetless(Cursor cursor) {
+        return hkTargetless.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object hkArrowUntargeted(Cursor cursor) {
+        return hkUntargeted.validate(cursor.next(forms));
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.janbols.validator;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Runs the {@link PersonValidatorBenchmark} at 1, N/2 and N threads, N being the number of available processors,
+ * with the gc profiler to report the bytes allocated per operation.
+ * The results of each thread count are written as json to the given directory, <code>build/reports/jmh</code> by default.
+ */
+public final class PersonValidatorBenchmarkRunner {
+
+    private PersonValidatorBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        File reportDir = new File(args.length > 0 ? args[0] : "build/reports/jmh");
+        reportDir.mkdirs();
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        SortedSet<Integer> threadCounts = new TreeSet<>();
+        threadCounts.add(1);
+        threadCounts.add(Math.max(1, processors / 2));
+        threadCounts.add(processors);
+
+        for (int threads : threadCounts) {
+            new Runner(new OptionsBuilder()
+                    .include(PersonValidatorBenchmark.class.getName())
+                    .mode(Mode.Throughput)
+                    .mode(Mode.AverageTime)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(reportDir, "person-validators-" + threads + "-threads.json").getPath())
+                    .build())
+                    .run();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.janbols.validator;
+
+import com.github.janbols.UserRepo;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.domain.PersonName;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the latency distribution of the {@link RuleComposingPersonValidator} with and without prefetching,
+ * on a user repo that takes a while to answer.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefetchingPersonValidatorBenchmark {
+
+    private static final int FORMS = 1024;
+
+    /**
+     * How long a lookup in the user repo takes
+     */
+    @Param({"0", "20", "200"})
+    public long lookupMicros;
+
+    private ExecutorService lookupExecutor;
+    private RuleComposingPersonValidator sequential;
+    private RuleComposingPersonValidator prefetching;
+    private PersonForm[] forms;
+
+    @Setup
+    public void createValidators() {
+        UserRepo userRepo = new UserRepo.InMemory(Collections.singletonMap(1L, new PersonName("Donaldo", "Trumpo"))) {
+            @Override
+            public Optional<Long> findIdBy(PersonName name) {
+                if (lookupMicros > 0)
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+                return super.findIdBy(name);
+            }
+        };
+        lookupExecutor = Executors.newCachedThreadPool();
+        sequential = new RuleComposingPersonValidator(userRepo);
+        prefetching = new RuleComposingPersonValidator(userRepo, lookupExecutor);
+
+        forms = new PersonForm[FORMS];
+        for (int i = 0; i < FORMS; i++) {
+            forms[i] = new PersonForm("Jan" + i, "Bols", "foo" + i + "@bar.com", String.valueOf(i % 100));
+        }
+    }
+
+    @TearDown
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+
+    /**
+     * The position of each benchmark thread in the workload
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        PersonForm next(PersonForm[] forms) {
+            return forms[index++ & (FORMS - 1)];
+        }
+    }
+
+
+    @Benchmark
+    public Object sequential(Cursor cursor) {
+        return sequential.validate(cursor.next(forms));
+    }
+
+    @Benchmark
+    public Object prefetching(Cursor cursor) {
+        return prefetching.validate(cursor.next(forms));
+    }
+}
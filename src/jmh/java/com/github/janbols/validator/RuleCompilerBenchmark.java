@@ -0,0 +1,60 @@
+package com.github.janbols.validator;
+
+import com.github.janbols.UserRepo;
+import com.github.janbols.domain.Person;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.CompiledValidator;
+import com.github.janbols.validation.RuleCompiler;
+import com.github.janbols.validation.Validation;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.janbols.domain.PersonForm.Field.FORM;
+
+/**
+ * Compares the interpreted rule graph of {@link RuleComposingPersonValidator} with the same graph compiled by
+ * {@link RuleCompiler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleCompilerBenchmark {
+
+    private final UserRepo userRepo = new UserRepo.InMemory(ImmutableMap.of(
+            1L, new PersonName("Donaldo", "Trumpo"),
+            2L, new PersonName("Mata", "Hari")));
+
+    private final RuleComposingPersonValidator interpreted = new RuleComposingPersonValidator(userRepo);
+    private final CompiledValidator<PersonForm, Person> compiled =
+            RuleCompiler.compile(RuleComposingPersonValidator.personRule(userRepo)).compile(FORM);
+
+    private PersonForm validForm = new PersonForm("Jan", "Bols", "foo@bar.com", "32");
+    private PersonForm invalidForm = new PersonForm("Donaldo", "Trumpo", "foobar.com", "brol");
+
+    @Benchmark
+    public Validation<List<String>, Person> interpretedValid() {
+        return interpreted.validate(validForm);
+    }
+
+    @Benchmark
+    public Validation<List<String>, Person> compiledValid() {
+        return compiled.validate(validForm);
+    }
+
+    @Benchmark
+    public Validation<List<String>, Person> interpretedInvalid() {
+        return interpreted.validate(invalidForm);
+    }
+
+    @Benchmark
+    public Validation<List<String>, Person> compiledInvalid() {
+        return compiled.validate(invalidForm);
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * The counterpart of {@link UserRepo} whose lookups complete later, without blocking the calling thread
+ */
+public interface AsyncUserRepo {
+    CompletableFuture<Optional<Long>> findIdBy(PersonName name);
+
+    /**
+     * Finds the ids of all given names. Names that don't exist are not in the resulting map.
+     */
+    default CompletableFuture<Map<PersonName, Long>> findIdsBy(Collection<PersonName> names) {
+        List<CompletableFuture<Optional<Long>>> lookups = names.stream()
+                .map(this::findIdBy)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    Map<PersonName, Long> result = new HashMap<>();
+                    int i = 0;
+                    for (PersonName name : names) {
+                        Optional<Long> id = lookups.get(i++).join();
+                        id.ifPresent(found -> result.put(name, found));
+                    }
+                    return result;
+                });
+    }
+
+
+    /**
+     * Runs the lookups of a blocking {@link UserRepo} on the given executor
+     */
+    class Blocking implements AsyncUserRepo {
+        private final UserRepo userRepo;
+        private final Executor executor;
+
+        public Blocking(UserRepo userRepo, Executor executor) {
+            this.userRepo = userRepo;
+            this.executor = executor;
+        }
+
+        public CompletableFuture<Optional<Long>> findIdBy(PersonName name) {
+            return CompletableFuture.supplyAsync(() -> userRepo.findIdBy(name), executor);
+        }
+
+        @Override
+        public CompletableFuture<Map<PersonName, Long>> findIdsBy(Collection<PersonName> names) {
+            return CompletableFuture.supplyAsync(() -> userRepo.findIdsBy(names), executor);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+import com.google.common.base.Throwables;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Merges the lookups that many threads make at about the same time into fewer lookups in the given {@link UserRepo}.
+ * <p>
+ * Concurrent lookups of the same name share a single lookup. Lookups of different names are collected for at most
+ * the given window, or until the given number of names is waiting, and are then looked up in a single
+ * {@link UserRepo#findIdsBy(Collection)} by a dispatcher thread.
+ * <p>
+ * The sizes of the dispatched batches and the time every lookup waited before it was dispatched are recorded in
+ * {@link Histogram}s, to tune the window and batch size against the latency they add.
+ */
+public class CoalescingUserRepo implements UserRepo, Closeable {
+    private final UserRepo delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<PersonName, CompletableFuture<Optional<Long>>> inFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<Lookup> waiting = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final Histogram batchSizes = new Histogram();
+    private final Histogram waitNanos = new Histogram();
+    private final LongAdder coalescedLookups = new LongAdder();
+    private volatile boolean closed;
+
+    public CoalescingUserRepo(UserRepo delegate, Duration window, int maxBatchSize) {
+        checkArgument(!window.isNegative(), "window must not be negative but was %s", window);
+        checkArgument(maxBatchSize > 0, "maxBatchSize must be positive but was %s", maxBatchSize);
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.dispatcher = new Thread(this::dispatchLoop, "user-lookup-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @Override
+    public Optional<Long> findIdBy(PersonName name) {
+        return join(lookup(name));
+    }
+
+    /**
+     * Finds the ids of all given names, sharing the lookups of other threads.
+     * Names that don't exist are not in the resulting map.
+     */
+    @Override
+    public Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+        Map<PersonName, CompletableFuture<Optional<Long>>> lookups = new HashMap<>();
+        for (PersonName name : names) {
+            lookups.computeIfAbsent(name, this::lookup);
+        }
+        Map<PersonName, Long> result = new HashMap<>();
+        lookups.forEach((name, lookup) -> join(lookup).ifPresent(id -> result.put(name, id)));
+        return result;
+    }
+
+    private CompletableFuture<Optional<Long>> lookup(PersonName name) {
+        checkState(!closed, "the user repo is closed");
+        CompletableFuture<Optional<Long>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<Long>> shared = inFlight.putIfAbsent(name, lookup);
+        if (shared != null) {
+            coalescedLookups.increment();
+            return shared;
+        }
+        Lookup waitingLookup = new Lookup(name, lookup, System.nanoTime());
+        waiting.add(waitingLookup);
+        // the repo may have been closed after the check above, and its waiting lookups failed before this one was
+        // added: unless the dispatcher or close() already took it, take it back and fail it
+        if (closed && waiting.remove(waitingLookup)) {
+            inFlight.remove(name, lookup);
+            lookup.completeExceptionally(new IllegalStateException("the user repo is closed"));
+        }
+        return lookup;
+    }
+
+    private static Optional<Long> join(CompletableFuture<Optional<Long>> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of names of every lookup in the delegate
+     */
+    public Histogram batchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * Returns the nanoseconds every lookup waited for its batch to be dispatched
+     */
+    public Histogram waitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Returns the number of lookups that shared the lookup of the same name by another thread
+     */
+    public long coalescedLookups() {
+        return coalescedLookups.sum();
+    }
+
+    /**
+     * Dispatches the lookups that are already waiting, and fails the lookups that come in later
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Lookup> undispatched = new ArrayList<>();
+        waiting.drainTo(undispatched);
+        for (Lookup lookup : undispatched) {
+            inFlight.remove(lookup.name, lookup.result);
+            lookup.result.completeExceptionally(new IllegalStateException("the user repo is closed"));
+        }
+    }
+
+
+    /**
+     * Collects the waiting lookups into batches until the repo is closed.
+     * A batch is dispatched once the window of its first lookup has passed, or once it is full.
+     */
+    private void dispatchLoop() {
+        List<Lookup> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !waiting.isEmpty()) {
+            try {
+                Lookup first = waiting.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                long deadline = first.enqueuedAt + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Lookup next = remaining > 0 && !closed ?
+                            waiting.poll(remaining, TimeUnit.NANOSECONDS) :
+                            waiting.poll();
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            dispatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void dispatch(List<Lookup> batch) {
+        long now = System.nanoTime();
+        batchSizes.record(batch.size());
+        for (Lookup lookup : batch) {
+            waitNanos.record(now - lookup.enqueuedAt);
+        }
+        Map<PersonName, Long> ids;
+        try {
+            ids = delegate.findIdsBy(batch.stream().map(lookup -> lookup.name).collect(Collectors.toList()));
+        } catch (RuntimeException | Error e) {
+            for (Lookup lookup : batch) {
+                inFlight.remove(lookup.name, lookup.result);
+                lookup.result.completeExceptionally(e);
+            }
+            return;
+        }
+        for (Lookup lookup : batch) {
+            inFlight.remove(lookup.name, lookup.result);
+            lookup.result.complete(Optional.ofNullable(ids.get(lookup.name)));
+        }
+    }
+
+
+    private static final class Lookup {
+        final PersonName name;
+        final CompletableFuture<Optional<Long>> result;
+        final long enqueuedAt;
+
+        Lookup(PersonName name, CompletableFuture<Optional<Long>> result, long enqueuedAt) {
+            this.name = name;
+            this.result = result;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+
+    /**
+     * Counts recorded values in buckets of powers of two, so recording never allocates or blocks.
+     * Percentiles are reported as the upper bound of their bucket, so they are off by at most a factor two.
+     */
+    public static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+        private final LongAdder sum = new LongAdder();
+
+        /**
+         * Records the given value. Negative values are recorded as 0.
+         */
+        public void record(long value) {
+            long recorded = Math.max(0, value);
+            buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(recorded));
+            sum.add(recorded);
+        }
+
+        public long count() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        public double mean() {
+            long count = count();
+            return count == 0 ? 0 : (double) sum.sum() / count;
+        }
+
+        /**
+         * Returns a value that at least the given percentage of the recorded values doesn't exceed,
+         * or 0 when nothing was recorded.
+         */
+        public long valueAtPercentile(double percentile) {
+            checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100 but was %s", percentile);
+            long count = count();
+            if (count == 0)
+                return 0;
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank)
+                    return upperBound(i);
+            }
+            return upperBound(buckets.length() - 1);
+        }
+
+        private static long upperBound(int bucket) {
+            return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1f p50=%d p99=%d p99.9=%d",
+                    count(), mean(), valueAtPercentile(50), valueAtPercentile(99), valueAtPercentile(99.9));
+        }
+    }
+}
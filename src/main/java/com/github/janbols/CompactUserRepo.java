@@ -0,0 +1,139 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An in-memory {@link UserRepo} with the same content as {@link UserRepo.InMemory}, without any object per user.
+ * <p>
+ * The names are copied into a single char arena, each one as its first name length, last name length,
+ * first name and last name. An open-addressing hash table with linear probing maps them to their id through three
+ * parallel primitive arrays: the arena offset of the name, its hash and its id.
+ * A user costs 2 chars of lengths plus the chars of its name, and two to four table slots of 16 bytes as the table
+ * is kept between a quarter and half full. That's instead of two hash map entries, a boxed id and a {@link PersonName}
+ * with two strings.
+ * <p>
+ * The arena holds at most {@link Integer#MAX_VALUE} chars. A first or last name is at most {@link Character#MAX_VALUE}
+ * chars long.
+ */
+public class CompactUserRepo implements UserRepo {
+    private static final int EMPTY = -1;
+
+    private final char[] arena;
+    private final int[] offsets;
+    private final int[] hashes;
+    private final long[] ids;
+    private final int mask;
+    private final int size;
+
+    public CompactUserRepo(Map<Long, PersonName> db) {
+        long arenaSize = 0;
+        for (PersonName name : db.values()) {
+            checkArgument(name.first.length() <= Character.MAX_VALUE && name.last.length() <= Character.MAX_VALUE,
+                    "name %s is too long", name);
+            arenaSize += 2 + name.first.length() + name.last.length();
+        }
+        checkArgument(arenaSize <= Integer.MAX_VALUE, "the names of %s users don't fit in one arena", db.size());
+
+        int capacity = tableSizeFor(db.size());
+        this.arena = new char[(int) arenaSize];
+        this.offsets = new int[capacity];
+        this.hashes = new int[capacity];
+        this.ids = new long[capacity];
+        this.mask = capacity - 1;
+        this.size = db.size();
+        Arrays.fill(offsets, EMPTY);
+
+        int offset = 0;
+        for (Map.Entry<Long, PersonName> entry : db.entrySet()) {
+            PersonName name = entry.getValue();
+            int hash = hash(name);
+            checkArgument(slotOf(name, hash) < 0, "value already present: %s", name);
+
+            int slot = hash & mask;
+            while (offsets[slot] != EMPTY)
+                slot = (slot + 1) & mask;
+            offsets[slot] = offset;
+            hashes[slot] = hash;
+            ids[slot] = entry.getKey();
+
+            arena[offset++] = (char) name.first.length();
+            arena[offset++] = (char) name.last.length();
+            name.first.getChars(0, name.first.length(), arena, offset);
+            offset += name.first.length();
+            name.last.getChars(0, name.last.length(), arena, offset);
+            offset += name.last.length();
+        }
+    }
+
+    public Optional<Long> findIdBy(PersonName name) {
+        int slot = slotOf(name, hash(name));
+        return slot < 0 ? Optional.empty() : Optional.of(ids[slot]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of bytes taken by the arena and the hash table, without the array headers
+     */
+    public long footprint() {
+        return (long) arena.length * Character.BYTES
+                + (long) offsets.length * (Integer.BYTES + Integer.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Returns the slot holding the given name, or a negative value if it isn't in the table
+     */
+    private int slotOf(PersonName name, int hash) {
+        for (int slot = hash & mask; offsets[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(offsets[slot], name))
+                return slot;
+        }
+        return -1;
+    }
+
+    private boolean matches(int offset, PersonName name) {
+        int firstLength = arena[offset];
+        int lastLength = arena[offset + 1];
+        if (firstLength != name.first.length() || lastLength != name.last.length())
+            return false;
+        int start = offset + 2;
+        for (int i = 0; i < firstLength; i++) {
+            if (arena[start + i] != name.first.charAt(i))
+                return false;
+        }
+        start += firstLength;
+        for (int i = 0; i < lastLength; i++) {
+            if (arena[start + i] != name.last.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hashes both names, spreading the bits so that the low ones can be used as slot
+     */
+    static int hash(PersonName name) {
+        int h = name.first.hashCode() * 31 + name.last.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The power of two that keeps the table between a quarter and half full
+     */
+    static int tableSizeFor(int size) {
+        checkArgument(size <= 1 << 29, "%s users don't fit in one table", size);
+        return Integer.highestOneBit(Math.max(1, size) * 2 - 1) * 2;
+    }
+}
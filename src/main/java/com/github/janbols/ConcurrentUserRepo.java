@@ -0,0 +1,89 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * An in-memory {@link UserRepo} that registers names concurrently, without a global lock.
+ * <p>
+ * A name is registered in two steps: {@link #reserveIfAbsent(PersonName)} atomically claims a name that is neither
+ * registered nor reserved, after which the holder of the {@link Reservation} either commits it with an id or
+ * releases it. So a name that was found free can't be taken by another thread before it is registered.
+ * Reserved names are not found by {@link #findIdBy(PersonName)} until they are committed.
+ * <p>
+ * Every operation is a single atomic operation on a {@link ConcurrentHashMap}, which only contends on names
+ * that share a bin.
+ */
+public class ConcurrentUserRepo implements UserRepo {
+
+    /**
+     * Per name, either its registered id as a {@link Long}, or the {@link Reservation} holding it
+     */
+    private final ConcurrentMap<PersonName, Object> names;
+
+    public ConcurrentUserRepo(Map<Long, PersonName> db) {
+        this.names = new ConcurrentHashMap<>(Math.max(16, db.size() * 2));
+        db.forEach((id, name) -> checkArgument(names.putIfAbsent(name, id) == null, "value already present: %s", name));
+    }
+
+    public Optional<Long> findIdBy(PersonName name) {
+        Object value = names.get(name);
+        return value instanceof Long ? Optional.of((Long) value) : Optional.empty();
+    }
+
+    /**
+     * Reserves the given name if it is neither registered nor reserved
+     *
+     * @return the reservation, or nothing if the name is taken
+     */
+    public Optional<Reservation> reserveIfAbsent(PersonName name) {
+        Reservation reservation = new Reservation(name);
+        return names.putIfAbsent(name, reservation) == null ? Optional.of(reservation) : Optional.empty();
+    }
+
+    /**
+     * Whether the given name is reserved and not yet committed or released
+     */
+    public boolean isReserved(PersonName name) {
+        return names.get(name) instanceof Reservation;
+    }
+
+
+    /**
+     * The claim on a name, until it is committed with an id or released
+     */
+    public final class Reservation {
+        private final PersonName name;
+
+        private Reservation(PersonName name) {
+            this.name = name;
+        }
+
+        public PersonName name() {
+            return name;
+        }
+
+        /**
+         * Registers the reserved name with the given id
+         *
+         * @throws IllegalStateException when the reservation was already committed or released
+         */
+        public void commit(long id) {
+            checkState(names.replace(name, this, id), "the reservation of %s is no longer held", name);
+        }
+
+        /**
+         * Frees the reserved name. Does nothing when it was already committed or released.
+         */
+        public void release() {
+            names.remove(name, this);
+        }
+    }
+}
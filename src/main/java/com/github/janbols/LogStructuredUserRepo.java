@@ -0,0 +1,528 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A writable {@link UserRepo} that survives restarts, by appending every registration to a log of segment files
+ * in a directory on the local filesystem. An in-memory index of the log answers the lookups.
+ * <p>
+ * Registrations are group committed: a single writer thread appends all registrations waiting at that moment
+ * and syncs them to disk at once, so concurrent registrations share one fsync. A registration only becomes
+ * visible to {@link #findIdBy(PersonName)} once it is on disk.
+ * <p>
+ * Once the active segment holds the given number of bytes, it is sealed and a new one is started.
+ * When a few segments are sealed, they are compacted in the background into a single segment with only the latest
+ * registration of every name that is still registered. Lookups never wait for the writer or the compaction.
+ * A compaction that fails keeps the segments as they are, and is counted by {@link #compactionFailures()}.
+ * <p>
+ * Every record holds a CRC32 checksum, a type (registered or removed), the byte lengths of the first and last name,
+ * the id, and both names in UTF-8. A record that was torn by a crash is cut off the log when it is opened.
+ */
+public class LogStructuredUserRepo implements UserRepo, Closeable {
+    private static final byte REGISTERED = 1;
+    private static final byte REMOVED = 2;
+    private static final int RECORD_HEADER_BYTES = 4 + 1 + 2 + 2 + 8;
+    private static final int MAX_BATCH = 1024;
+    private static final int COMPACT_AFTER_SEALED = 4;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ConcurrentMap<PersonName, Long> index = new ConcurrentHashMap<>();
+    private final BlockingQueue<Write> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(daemon("user-log-compactor"));
+    private final Thread writer;
+    private final Object segmentLock = new Object();
+    /**
+     * Guards closing the log and adding writes, so no write is added once the writer stopped taking them
+     */
+    private final Object writeLock = new Object();
+    private final LongAdder compactionFailures = new LongAdder();
+    private volatile IOException lastCompactionFailure;
+    /**
+     * The sealed segments, oldest first. Guarded by the segment lock.
+     */
+    private final List<Path> sealed = new ArrayList<>();
+    private long nextSegment;
+    private FileChannel active;
+    private Path activePath;
+    private volatile boolean closed;
+    /**
+     * Whether the writer stopped, after which every write fails. Guarded by the write lock.
+     */
+    private boolean writerStopped;
+
+    private LogStructuredUserRepo(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.writer = daemon("user-log-writer").newThread(this::writeLoop);
+    }
+
+
+    /**
+     * Opens the log in the given directory, creating it if it doesn't exist, and replays it into the index
+     *
+     * @param segmentBytes the number of bytes after which a segment is sealed
+     */
+    public static LogStructuredUserRepo open(Path directory, long segmentBytes) throws IOException {
+        checkArgument(segmentBytes > 0, "segments need at least one byte");
+        Files.createDirectories(directory);
+        LogStructuredUserRepo repo = new LogStructuredUserRepo(directory, segmentBytes);
+        repo.replay();
+        repo.writer.start();
+        return repo;
+    }
+
+    public Optional<Long> findIdBy(PersonName name) {
+        return Optional.ofNullable(index.get(name));
+    }
+
+    @Override
+    public Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+        Map<PersonName, Long> result = new HashMap<>();
+        for (PersonName name : names) {
+            Long id = index.get(name);
+            if (id != null)
+                result.put(name, id);
+        }
+        return result;
+    }
+
+    /**
+     * Registers the given name with the given id, replacing the id it had.
+     * Returns once the registration is on disk.
+     */
+    public void register(PersonName name, long id) throws IOException {
+        write(new Write(REGISTERED, name, id));
+    }
+
+    /**
+     * Removes the given name. Returns once the removal is on disk.
+     */
+    public void remove(PersonName name) throws IOException {
+        write(new Write(REMOVED, name, 0L));
+    }
+
+    private void write(Write write) throws IOException {
+        synchronized (writeLock) {
+            checkState(!closed, "the user log is closed");
+            if (writerStopped)
+                throw new IOException("the user log writer stopped");
+            pending.add(write);
+        }
+        try {
+            write.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for the user log", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ?
+                    (IOException) e.getCause() :
+                    new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Compacts the sealed segments now, instead of waiting until enough of them are sealed
+     */
+    public void compact() throws IOException {
+        try {
+            compactor.submit(() -> {
+                compactSealed();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while compacting the user log", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ?
+                    (IOException) e.getCause() :
+                    new IOException(e.getCause());
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * The number of background compactions that failed
+     */
+    public long compactionFailures() {
+        return compactionFailures.sum();
+    }
+
+    /**
+     * Why the last background compaction that failed did so
+     */
+    public Optional<IOException> lastCompactionFailure() {
+        return Optional.ofNullable(lastCompactionFailure);
+    }
+
+    @VisibleForTesting
+    int segmentCount() {
+        synchronized (segmentLock) {
+            return sealed.size() + 1;
+        }
+    }
+
+    /**
+     * Waits for the registrations that were already made to be written, stops the compaction and closes the log
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (closed)
+                return;
+            closed = true;
+        }
+        try {
+            writer.join();
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (segmentLock) {
+            active.close();
+        }
+    }
+
+
+    /**
+     * Commits the waiting writes in batches until the log is closed, and fails the writes that are still waiting
+     * when it stops for any other reason.
+     * Polls instead of getting interrupted, as an interrupt would close the active segment.
+     */
+    private void writeLoop() {
+        try {
+            List<Write> batch = new ArrayList<>();
+            while (!closed || !pending.isEmpty()) {
+                try {
+                    Write first = pending.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null)
+                        continue;
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                pending.drainTo(batch, MAX_BATCH - batch.size());
+                commit(batch);
+                batch.clear();
+            }
+        } finally {
+            synchronized (writeLock) {
+                writerStopped = true;
+            }
+            List<Write> unwritten = new ArrayList<>();
+            pending.drainTo(unwritten);
+            for (Write write : unwritten) {
+                write.done.completeExceptionally(new IOException("the user log writer stopped"));
+            }
+        }
+    }
+
+    /**
+     * Appends the given writes to the active segment with a single sync, and then makes them visible.
+     * When that fails, the segment is cut back to where it was, so no torn record is followed by valid ones.
+     */
+    private void commit(List<Write> batch) {
+        try {
+            ByteBuffer records = ByteBuffer.allocate(batch.stream().mapToInt(Write::recordBytes).sum());
+            for (Write write : batch) {
+                write.writeTo(records);
+            }
+            records.flip();
+            synchronized (segmentLock) {
+                long committedBytes = active.size();
+                try {
+                    while (records.hasRemaining()) {
+                        active.write(records);
+                    }
+                    active.force(false);
+                } catch (IOException e) {
+                    active.truncate(committedBytes);
+                    throw e;
+                }
+            }
+            for (Write write : batch) {
+                apply(write.type, write.name, write.id);
+                write.done.complete(null);
+            }
+            rollIfFull();
+        } catch (IOException | RuntimeException e) {
+            for (Write write : batch) {
+                write.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Seals the active segment once it is full. The next segment is started first, so the full one stays active
+     * when that fails, and the next commit tries again.
+     */
+    private void rollIfFull() throws IOException {
+        synchronized (segmentLock) {
+            if (active.size() < segmentBytes)
+                return;
+            FileChannel full = active;
+            Path fullPath = activePath;
+            startSegment();
+            sealed.add(fullPath);
+            full.close();
+            if (sealed.size() >= COMPACT_AFTER_SEALED && !closed)
+                compactor.execute(this::compactSealedQuietly);
+        }
+    }
+
+    private void apply(byte type, PersonName name, long id) {
+        if (type == REGISTERED)
+            index.put(name, id);
+        else
+            index.remove(name);
+    }
+
+
+    private void compactSealedQuietly() {
+        try {
+            compactSealed();
+        } catch (IOException e) {
+            // the segments that weren't compacted or deleted are kept, the next compaction tries again
+            compactionFailures.increment();
+            lastCompactionFailure = e;
+        }
+    }
+
+    /**
+     * Rewrites the sealed segments into the newest of them, keeping only the registrations that are still current,
+     * and then deletes the older segments, oldest first.
+     * A name that was removed keeps its removal as long as an older segment registers it, so that a crash before the
+     * older segments are deleted doesn't bring it back. Any older registration is replayed before the newer segments,
+     * so the index is the same after a restart.
+     */
+    private void compactSealed() throws IOException {
+        List<Path> toCompact;
+        synchronized (segmentLock) {
+            if (sealed.size() < 2)
+                return;
+            toCompact = new ArrayList<>(sealed);
+        }
+        Path target = toCompact.get(toCompact.size() - 1);
+        List<Path> older = toCompact.subList(0, toCompact.size() - 1);
+
+        // the latest id of every name, or null when it was removed
+        Map<PersonName, Long> latest = new LinkedHashMap<>();
+        Set<PersonName> registeredInOlder = new HashSet<>();
+        for (Path segment : toCompact) {
+            boolean isOlder = !segment.equals(target);
+            readSegment(segment, (type, name, id) -> {
+                latest.put(name, type == REGISTERED ? id : null);
+                if (isOlder && type == REGISTERED)
+                    registeredInOlder.add(name);
+            });
+        }
+
+        Path compacted = target.resolveSibling(target.getFileName() + ".compacting");
+        try (FileChannel channel = FileChannel.open(compacted, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            for (Map.Entry<PersonName, Long> entry : latest.entrySet()) {
+                Write write;
+                if (entry.getValue() == null && registeredInOlder.contains(entry.getKey()))
+                    write = new Write(REMOVED, entry.getKey(), 0L);
+                else if (entry.getValue() != null && entry.getValue().equals(index.get(entry.getKey())))
+                    write = new Write(REGISTERED, entry.getKey(), entry.getValue());
+                else
+                    continue;
+                ByteBuffer record = ByteBuffer.allocate(write.recordBytes());
+                write.writeTo(record);
+                record.flip();
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(compacted, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+
+        int deleted = 0;
+        try {
+            for (; deleted < older.size(); deleted++) {
+                Files.delete(older.get(deleted));
+            }
+        } finally {
+            synchronized (segmentLock) {
+                sealed.removeAll(older.subList(0, deleted));
+            }
+        }
+    }
+
+    /**
+     * Syncs the directory of the log, so a file that was created or moved in it stays there after a crash
+     */
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        }
+    }
+
+
+    private void replay() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Path segment : segments) {
+            long validBytes = readSegment(segment, this::apply);
+            if (validBytes < Files.size(segment)) {
+                try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+                    channel.truncate(validBytes);
+                    channel.force(true);
+                }
+            }
+        }
+
+        synchronized (segmentLock) {
+            if (!segments.isEmpty()) {
+                Path last = segments.get(segments.size() - 1);
+                nextSegment = segmentNumber(last) + 1;
+                sealed.addAll(segments.subList(0, segments.size() - 1));
+                if (Files.size(last) < segmentBytes) {
+                    // a crash may have come before the directory was synced after creating it
+                    syncDirectory();
+                    activePath = last;
+                    active = FileChannel.open(last, WRITE, APPEND);
+                    return;
+                }
+                sealed.add(last);
+            }
+            startSegment();
+        }
+    }
+
+    /**
+     * Creates the next segment and makes it the active one once the directory is synced, so that the writes that are
+     * acknowledged after being synced to it aren't lost with the segment in a crash.
+     * Keeps the active segment when that fails.
+     */
+    private void startSegment() throws IOException {
+        Path path = directory.resolve(String.format("segment-%016d%s", nextSegment++, SUFFIX));
+        FileChannel channel = FileChannel.open(path, CREATE_NEW, WRITE, APPEND);
+        try {
+            syncDirectory();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        activePath = path;
+        active = channel;
+    }
+
+    private static long segmentNumber(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring("segment-".length(), fileName.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Passes every valid record of the given segment to the given consumer, stopping at the first torn record
+     *
+     * @return the number of bytes of valid records
+     */
+    private static long readSegment(Path segment, RecordConsumer consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int start = buffer.position();
+            int checksum = buffer.getInt();
+            byte type = buffer.get();
+            int firstLength = Short.toUnsignedInt(buffer.getShort());
+            int lastLength = Short.toUnsignedInt(buffer.getShort());
+            long id = buffer.getLong();
+            if ((type != REGISTERED && type != REMOVED) || buffer.remaining() < firstLength + lastLength)
+                return start;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), start + 4, RECORD_HEADER_BYTES - 4 + firstLength + lastLength);
+            if ((int) crc.getValue() != checksum)
+                return start;
+
+            String first = new String(buffer.array(), buffer.position(), firstLength, UTF_8);
+            String last = new String(buffer.array(), buffer.position() + firstLength, lastLength, UTF_8);
+            buffer.position(buffer.position() + firstLength + lastLength);
+            consumer.accept(type, new PersonName(first, last), id);
+        }
+        return buffer.position();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(byte type, PersonName name, long id);
+    }
+
+    private static final class Write {
+        final byte type;
+        final PersonName name;
+        final long id;
+        final byte[] first;
+        final byte[] last;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Write(byte type, PersonName name, long id) {
+            this.type = type;
+            this.name = name;
+            this.id = id;
+            this.first = name.first.getBytes(UTF_8);
+            this.last = name.last.getBytes(UTF_8);
+            checkArgument(first.length <= 0xFFFF && last.length <= 0xFFFF, "name %s is too long", name);
+        }
+
+        int recordBytes() {
+            return RECORD_HEADER_BYTES + first.length + last.length;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            int start = buffer.position();
+            buffer.putInt(0)
+                    .put(type)
+                    .putShort((short) first.length)
+                    .putShort((short) last.length)
+                    .putLong(id)
+                    .put(first)
+                    .put(last);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), start + 4, buffer.position() - start - 4);
+            buffer.putInt(start, (int) crc.getValue());
+        }
+    }
+}
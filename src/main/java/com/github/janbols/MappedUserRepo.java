@@ -0,0 +1,316 @@
+package com.github.janbols;
+
+import com.github.janbols.domain.PersonName;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A read-only {@link UserRepo} on a snapshot file that is memory mapped, so it opens instantly and its lookups
+ * read straight from the page cache instead of the heap.
+ * <p>
+ * A snapshot is written once by {@link #write(Map, Path)} and consists of:
+ * <ul>
+ * <li>a header of {@value #HEADER_BYTES} bytes: the magic number, the format version, the number of slots and users,
+ * the number of data bytes, the checksum of the slots and data, and the checksum of the header itself</li>
+ * <li>an open-addressing hash table with linear probing, of slots holding the hash of a name, the offset of its data
+ * as an unsigned int or -1 when empty, and its id, like {@link CompactUserRepo}</li>
+ * <li>the data of all names, each one as the unsigned short byte lengths of its first and last name, followed by both
+ * names in UTF-8</li>
+ * </ul>
+ * Opening a snapshot only checks its header. {@link #verify()} checks the slots and data, which reads the whole file.
+ * <p>
+ * The slots and the data are each mapped in windows of 1 GiB, as a single mapping holds at most 2 GiB. A snapshot
+ * holds as many users as {@link CompactUserRepo} does, with up to {@value #MAX_DATA_BYTES} bytes of data.
+ */
+public class MappedUserRepo implements UserRepo {
+    static final int MAGIC = 0x55524550;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 40;
+    static final int SLOT_BYTES = 16;
+    static final long MAX_DATA_BYTES = 0xFFFFFFFFL;
+    private static final int WINDOW_BITS = 30;
+    private static final int EMPTY = -1;
+
+    private final ByteBuffer[] slots;
+    private final ByteBuffer[] data;
+    private final int windowBits;
+    private final long windowMask;
+    private final int slotCount;
+    private final int size;
+    private final long checksum;
+
+    private MappedUserRepo(ByteBuffer[] slots, ByteBuffer[] data, int windowBits, int slotCount, int size, long checksum) {
+        this.slots = slots;
+        this.data = data;
+        this.windowBits = windowBits;
+        this.windowMask = (1L << windowBits) - 1;
+        this.slotCount = slotCount;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+
+    /**
+     * Writes a snapshot of the given users to the given file, replacing it if it exists.
+     * The slots are filled first, and then the slots and the data of the names are streamed to the file in the order
+     * of the slots, so neither has to fit in a single array.
+     */
+    public static void write(Map<Long, PersonName> db, Path file) throws IOException {
+        int slotCount = CompactUserRepo.tableSizeFor(db.size());
+        @SuppressWarnings("unchecked")
+        Map.Entry<Long, PersonName>[] slotEntries = (Map.Entry<Long, PersonName>[]) new Map.Entry<?, ?>[slotCount];
+        long dataBytes = 0;
+        for (Map.Entry<Long, PersonName> entry : db.entrySet()) {
+            PersonName name = entry.getValue();
+            int firstLength = utf8Length(name.first);
+            int lastLength = utf8Length(name.last);
+            checkArgument(firstLength <= 0xFFFF && lastLength <= 0xFFFF, "name %s is too long", name);
+            dataBytes += 4 + firstLength + lastLength;
+
+            int slot = CompactUserRepo.hash(name) & (slotCount - 1);
+            while (slotEntries[slot] != null) {
+                checkArgument(!slotEntries[slot].getValue().equals(name), "value already present: %s", name);
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            slotEntries[slot] = entry;
+        }
+        checkArgument(dataBytes <= MAX_DATA_BYTES, "the names of %s users take %s bytes, more than the %s bytes "
+                + "a snapshot can hold", db.size(), dataBytes, MAX_DATA_BYTES);
+
+        try (FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            CRC32 crc = new CRC32();
+            channel.position(HEADER_BYTES);
+            DataOutputStream body = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+            long offset = 0;
+            for (Map.Entry<Long, PersonName> entry : slotEntries) {
+                if (entry == null) {
+                    body.writeInt(0);
+                    body.writeInt(EMPTY);
+                    body.writeLong(0);
+                } else {
+                    PersonName name = entry.getValue();
+                    body.writeInt(CompactUserRepo.hash(name));
+                    body.writeInt((int) offset);
+                    body.writeLong(entry.getKey());
+                    offset += 4 + utf8Length(name.first) + utf8Length(name.last);
+                }
+            }
+            for (Map.Entry<Long, PersonName> entry : slotEntries) {
+                if (entry == null)
+                    continue;
+                byte[] first = entry.getValue().first.getBytes(UTF_8);
+                byte[] last = entry.getValue().last.getBytes(UTF_8);
+                body.writeShort(first.length);
+                body.writeShort(last.length);
+                body.write(first);
+                body.write(last);
+            }
+            body.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(slotCount).putInt(db.size())
+                    .putLong(dataBytes).putLong(crc.getValue());
+            header.putLong(headerChecksum(header));
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Maps the given snapshot, after checking its header
+     *
+     * @throws IOException when the file can't be read, or isn't a snapshot of a supported version
+     */
+    public static MappedUserRepo open(Path file) throws IOException {
+        return open(file, WINDOW_BITS);
+    }
+
+    /**
+     * Like {@link #open(Path)}, mapping windows of 2 to the power of the given number of bytes
+     */
+    static MappedUserRepo open(Path file, int windowBits) throws IOException {
+        checkArgument(windowBits >= 4 && windowBits <= WINDOW_BITS, "windows can't have 2^%s bytes", windowBits);
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES)
+                throw new IOException(file + " is not a user snapshot: it has " + fileSize + " bytes");
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+
+            if (header.getInt(0) != MAGIC)
+                throw new IOException(file + " is not a user snapshot");
+            if (header.getInt(4) != VERSION)
+                throw new IOException(file + " has version " + header.getInt(4) + " instead of " + VERSION);
+            if (header.getLong(32) != headerChecksum(header))
+                throw new IOException(file + " has a corrupt header");
+
+            int slotCount = header.getInt(8);
+            int size = header.getInt(12);
+            long dataBytes = header.getLong(16);
+            long slotBytes = (long) slotCount * SLOT_BYTES;
+            if (Integer.bitCount(slotCount) != 1 || dataBytes < 0 || HEADER_BYTES + slotBytes + dataBytes != fileSize)
+                throw new IOException(file + " is truncated or has a corrupt header");
+            return new MappedUserRepo(map(channel, HEADER_BYTES, slotBytes, windowBits),
+                    map(channel, HEADER_BYTES + slotBytes, dataBytes, windowBits),
+                    windowBits, slotCount, size, header.getLong(24));
+        }
+    }
+
+    /**
+     * Maps the given part of the file in windows of 2 to the power of the given number of bytes
+     */
+    private static ByteBuffer[] map(FileChannel channel, long start, long length, int windowBits) throws IOException {
+        long windowBytes = 1L << windowBits;
+        ByteBuffer[] windows = new ByteBuffer[(int) ((length + windowBytes - 1) >>> windowBits)];
+        for (int i = 0; i < windows.length; i++) {
+            long windowStart = (long) i << windowBits;
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start + windowStart,
+                    Math.min(windowBytes, length - windowStart));
+        }
+        return windows;
+    }
+
+    /**
+     * The number of bytes {@link String#getBytes(java.nio.charset.Charset)} encodes the given string into in UTF-8
+     */
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 3;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The checksum of the first 32 bytes of the given header
+     */
+    private static long headerChecksum(ByteBuffer header) {
+        CRC32 crc = new CRC32();
+        ByteBuffer fields = header.duplicate();
+        fields.position(0).limit(32);
+        crc.update(fields);
+        return crc.getValue();
+    }
+
+
+    public Optional<Long> findIdBy(PersonName name) {
+        int hash = CompactUserRepo.hash(name);
+        int mask = slotCount - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long at = (long) slot * SLOT_BYTES;
+            ByteBuffer window = slots[(int) (at >>> windowBits)];
+            int inWindow = (int) (at & windowMask);
+            int offset = window.getInt(inWindow + 4);
+            if (offset == EMPTY)
+                return Optional.empty();
+            if (window.getInt(inWindow) == hash && matches(offset & 0xFFFFFFFFL, name))
+                return Optional.of(window.getLong(inWindow + 8));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks the slots and data of the snapshot against the checksum in its header, reading the whole file
+     *
+     * @throws IOException when they don't match
+     */
+    public void verify() throws IOException {
+        CRC32 crc = new CRC32();
+        for (ByteBuffer[] windows : new ByteBuffer[][]{slots, data}) {
+            for (ByteBuffer window : windows) {
+                crc.update(window.duplicate());
+            }
+        }
+        if (crc.getValue() != checksum)
+            throw new IOException("the user snapshot is corrupt");
+    }
+
+    /**
+     * Compares the data at the given offset with the given name, without encoding it into byte arrays
+     */
+    private boolean matches(long at, PersonName name) {
+        long lastStart = matchUtf8(at + 4, dataShort(at), name.first);
+        return lastStart >= 0 && matchUtf8(lastStart, dataShort(at + 2), name.last) >= 0;
+    }
+
+    /**
+     * Compares the given number of bytes at the given offset with the given string, encoding its chars into UTF-8
+     * one by one like {@link String#getBytes(java.nio.charset.Charset)} does, which replaces an unpaired surrogate
+     * by <code>'?'</code>
+     *
+     * @return the offset after the bytes when they match, or -1
+     */
+    private long matchUtf8(long at, int byteLength, String value) {
+        long end = at + byteLength;
+        int length = value.length();
+        for (int i = 0; i < length && at >= 0; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                at = matchByte(at, end, c);
+            } else if (c < 0x800) {
+                at = matchByte(matchByte(at, end, 0xC0 | c >> 6), end, 0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                at = matchByte(matchByte(matchByte(at, end, 0xE0 | c >> 12), end, 0x80 | c >> 6 & 0x3F), end, 0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                at = matchByte(matchByte(at, end, 0xF0 | codePoint >> 18), end, 0x80 | codePoint >> 12 & 0x3F);
+                at = matchByte(matchByte(at, end, 0x80 | codePoint >> 6 & 0x3F), end, 0x80 | codePoint & 0x3F);
+            } else {
+                at = matchByte(at, end, '?');
+            }
+        }
+        return at == end ? at : -1;
+    }
+
+    /**
+     * Returns the offset after the given one when it holds the given byte, or -1
+     */
+    private long matchByte(long at, long end, int b) {
+        return at >= 0 && at < end && dataByte(at) == (byte) b ? at + 1 : -1;
+    }
+
+    /**
+     * The unsigned short at the given offset of the data, which can span two windows
+     */
+    private int dataShort(long at) {
+        return (dataByte(at) & 0xFF) << 8 | dataByte(at + 1) & 0xFF;
+    }
+
+    private byte dataByte(long at) {
+        return data[(int) (at >>> windowBits)].get((int) (at & windowMask));
+    }
+}
@@ -1,19 +1,42 @@
 package com.github.janbols;
 
 import com.github.janbols.domain.PersonName;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Maps;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
 
-import java.util.Map;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
 public interface UserRepo {
     Optional<Long> findIdBy(PersonName name);
 
+    /**
+     * Finds the ids of all given names in one go. Names that don't exist are not in the resulting map.
+     */
+    default Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+        Map<PersonName, Long> result = new HashMap<>();
+        for (PersonName name : names) {
+            findIdBy(name).ifPresent(id -> result.put(name, id));
+        }
+        return result;
+    }
+
 
     class InMemory implements UserRepo {
         private final Map<PersonName, Long> db;
 
-        InMemory(Map<Long, PersonName> db) {
+        public InMemory(Map<Long, PersonName> db) {
             this.db = HashBiMap.create(db).inverse();
         }
 
@@ -21,6 +44,223 @@ public interface UserRepo {
             return Optional.ofNullable(db.get(name));
         }
 
+        @Override
+        public Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+            Map<PersonName, Long> result = Maps.newHashMapWithExpectedSize(Math.min(names.size(), db.size()));
+            for (PersonName name : names) {
+                Long id = db.get(name);
+                if (id != null)
+                    result.put(name, id);
+            }
+            return result;
+        }
+    }
+
+
+    /**
+     * Caches the lookups of another repo, both the names that exist and the ones that don't.
+     * Each kind has its own time to live, as names that don't exist yet are the ones that get registered.
+     * Both caches hold at most the given number of names, evicting the least recently used ones first.
+     * <p>
+     * Call {@link #invalidate(PersonName)} when a name gets registered, so it isn't reported missing until
+     * its negative entry expires. A lookup of the name that is still running when it gets invalidated doesn't
+     * cache what it found.
+     */
+    class Caching implements UserRepo {
+        private static final int GENERATION_STRIPES = 64;
+
+        private final UserRepo delegate;
+        private final Cache<PersonName, Long> ids;
+        private final Cache<PersonName, Boolean> missing;
+        /**
+         * The number of invalidations of the names of each stripe, for a lookup to know whether its name got
+         * invalidated while it went to the delegate
+         */
+        private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+        public Caching(UserRepo delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+            this(delegate, maximumSize, ttl, negativeTtl, Ticker.systemTicker());
+        }
+
+        @VisibleForTesting
+        Caching(UserRepo delegate, long maximumSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+            this.delegate = delegate;
+            this.ids = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                    .ticker(ticker)
+                    .recordStats()
+                    .build();
+            this.missing = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(negativeTtl.toNanos(), TimeUnit.NANOSECONDS)
+                    .ticker(ticker)
+                    .recordStats()
+                    .build();
+        }
+
+        public Optional<Long> findIdBy(PersonName name) {
+            Long id = ids.getIfPresent(name);
+            if (id != null)
+                return Optional.of(id);
+            if (missing.getIfPresent(name) != null)
+                return Optional.empty();
+
+            long generation = generations.get(stripe(name));
+            Optional<Long> found = delegate.findIdBy(name);
+            cache(name, found.orElse(null), generation);
+            return found;
+        }
+
+        /**
+         * Looks up the names that aren't cached with a single call to the delegate
+         */
+        @Override
+        public Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+            Map<PersonName, Long> result = new HashMap<>();
+            Map<PersonName, Long> unknownGenerations = new HashMap<>();
+            for (PersonName name : names) {
+                Long id = ids.getIfPresent(name);
+                if (id != null)
+                    result.put(name, id);
+                else if (missing.getIfPresent(name) == null)
+                    unknownGenerations.put(name, generations.get(stripe(name)));
+            }
+            if (unknownGenerations.isEmpty())
+                return result;
+
+            Map<PersonName, Long> found = delegate.findIdsBy(unknownGenerations.keySet());
+            for (Map.Entry<PersonName, Long> unknown : unknownGenerations.entrySet()) {
+                Long id = found.get(unknown.getKey());
+                cache(unknown.getKey(), id, unknown.getValue());
+                if (id != null)
+                    result.put(unknown.getKey(), id);
+            }
+            return result;
+        }
+
+        /**
+         * Caches the id found for the given name, or that it is missing when the id is <code>null</code>, unless the
+         * name got invalidated since the given generation. An invalidation racing with the put either removes the
+         * entry itself, or is seen by the second check.
+         */
+        private void cache(PersonName name, Long id, long generation) {
+            int stripe = stripe(name);
+            if (generations.get(stripe) != generation)
+                return;
+            if (id != null)
+                ids.put(name, id);
+            else
+                missing.put(name, Boolean.TRUE);
+            if (generations.get(stripe) != generation) {
+                ids.invalidate(name);
+                missing.invalidate(name);
+            }
+        }
+
+        private static int stripe(PersonName name) {
+            int hash = name.hashCode();
+            return (hash ^ hash >>> 16) & (GENERATION_STRIPES - 1);
+        }
 
+        /**
+         * Forgets what is cached for the given name, e.g. because it just got registered
+         */
+        public void invalidate(PersonName name) {
+            generations.incrementAndGet(stripe(name));
+            ids.invalidate(name);
+            missing.invalidate(name);
+        }
+
+        public void invalidateAll() {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+            ids.invalidateAll();
+            missing.invalidateAll();
+        }
+
+        /**
+         * The statistics of both caches together. A lookup is a hit when it is answered by either cache,
+         * and a miss when it had to go to the delegate.
+         */
+        public CacheStats stats() {
+            CacheStats idStats = ids.stats();
+            CacheStats missingStats = missing.stats();
+            return new CacheStats(
+                    idStats.hitCount() + missingStats.hitCount(),
+                    missingStats.missCount(),
+                    0, 0, 0,
+                    idStats.evictionCount() + missingStats.evictionCount());
+        }
+    }
+
+
+    /**
+     * Answers the lookups of names that certainly don't exist without going to another repo, by keeping a
+     * Bloom filter of all registered names. Only names that might exist are looked up in the other repo,
+     * of which about the given false positive probability turn out not to exist after all.
+     * <p>
+     * Names registered after the filter was created must be added with {@link #register(PersonName)}.
+     * A Bloom filter can't forget a name, so names that got removed keep being looked up.
+     */
+    class BloomFiltered implements UserRepo {
+        private static final Funnel<PersonName> personNameFunnel = (name, into) -> into
+                .putString(name.first, StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(name.last, StandardCharsets.UTF_8);
+
+        private final UserRepo delegate;
+        private final BloomFilter<PersonName> registered;
+        private final LongAdder avoidedLookups = new LongAdder();
+
+        public BloomFiltered(UserRepo delegate, Collection<PersonName> registeredNames,
+                             long expectedNames, double falsePositiveProbability) {
+            this.delegate = delegate;
+            this.registered = BloomFilter.create(personNameFunnel,
+                    Math.max(expectedNames, registeredNames.size()), falsePositiveProbability);
+            registeredNames.forEach(registered::put);
+        }
+
+        public Optional<Long> findIdBy(PersonName name) {
+            if (!registered.mightContain(name)) {
+                avoidedLookups.increment();
+                return Optional.empty();
+            }
+            return delegate.findIdBy(name);
+        }
+
+        /**
+         * Only looks up the names that might exist in the delegate
+         */
+        @Override
+        public Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+            List<PersonName> possibleNames = new ArrayList<>();
+            for (PersonName name : names) {
+                if (registered.mightContain(name))
+                    possibleNames.add(name);
+                else
+                    avoidedLookups.increment();
+            }
+            return possibleNames.isEmpty() ? new HashMap<>() : delegate.findIdsBy(possibleNames);
+        }
+
+        /**
+         * Adds a newly registered name, so it gets looked up from now on
+         */
+        public void register(PersonName name) {
+            registered.put(name);
+        }
+
+        /**
+         * The number of names that were known not to exist without looking them up
+         */
+        public long avoidedLookups() {
+            return avoidedLookups.sum();
+        }
+
+        public double expectedFalsePositiveProbability() {
+            return registered.expectedFpp();
+        }
     }
 }
@@ -0,0 +1,239 @@
+package com.github.janbols.bulk;
+
+import com.github.janbols.domain.Person;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.validation.Errors;
+import com.github.janbols.validation.Validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Validates import files of any size with a bounded amount of memory, by streaming their records through
+ * three stages connected by bounded queues:
+ * <ol>
+ * <li>the calling thread reads the lines of the file in batches</li>
+ * <li>a number of validator threads parse the lines of a batch into {@link PersonForm}s and validate them</li>
+ * <li>a writer thread writes the valid persons and the errors of the invalid records to their sinks,
+ * in the order of the file</li>
+ * </ol>
+ * When the validators or the writer fall behind, the queues fill up and the reader waits for them, so at most
+ * <code>queueCapacity + validators + 1</code> batches are held in memory at any time.
+ * A line that can't be parsed is reported as an invalid record, as is a record with a line break in a field,
+ * which the persons file can't hold on a single line.
+ */
+public class BulkValidationPipeline {
+    private static final Batch END = new Batch(0, new ArrayList<>());
+
+    private final Function<PersonForm, Validation<List<String>, Person>> validator;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int validators;
+
+    /**
+     * @param validator     validates a single form, e.g. the validate method of one of the person validators
+     * @param batchSize     the number of lines handed from one stage to the next at once
+     * @param queueCapacity the number of batches that can wait between the stages
+     * @param validators    the number of threads that parse and validate batches
+     */
+    public BulkValidationPipeline(Function<PersonForm, Validation<List<String>, Person>> validator,
+                                  int batchSize, int queueCapacity, int validators) {
+        checkArgument(batchSize > 0, "batchSize must be positive but was %s", batchSize);
+        checkArgument(queueCapacity > 0, "queueCapacity must be positive but was %s", queueCapacity);
+        checkArgument(validators > 0, "validators must be positive but was %s", validators);
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.validators = validators;
+    }
+
+    /**
+     * Validates every record of the given file, writing the valid persons to the given valid sink and
+     * the errors of the other records to the given error sink. The sinks are not closed.
+     *
+     * @return the number of records that were valid and invalid
+     */
+    public Summary run(Path input, RecordFormat format,
+                       RecordSink<Person> validSink, RecordSink<List<String>> errorSink) throws IOException {
+        BlockingQueue<Batch> toValidate = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch> toWrite = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService threads = Executors.newFixedThreadPool(validators + 1, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-validation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> validating = new ArrayList<>();
+            for (int i = 0; i < validators; i++) {
+                validating.add(threads.submit(() -> validate(format, toValidate)));
+            }
+            Future<Summary> writing = threads.submit(() -> write(toWrite, validSink, errorSink));
+
+            read(input, format, toValidate, toWrite, writing);
+
+            Summary summary = writing.get();
+            for (Future<?> future : validating) {
+                future.get();
+            }
+            return summary;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while validating " + input, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ?
+                    (IOException) e.getCause() :
+                    new IOException("failed to validate " + input, e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Reads the lines of the input in batches, and hands every batch to the writer, in order, and to the validators.
+     * Stops early when the writer failed, as nothing will take the batches anymore.
+     */
+    private void read(Path input, RecordFormat format,
+                      BlockingQueue<Batch> toValidate, BlockingQueue<Batch> toWrite,
+                      Future<Summary> writing) throws IOException, InterruptedException, ExecutionException {
+        try (BufferedReader reader = Files.newBufferedReader(input, UTF_8)) {
+            long lineNumber = 0;
+            if (format.hasHeader() && reader.readLine() != null)
+                lineNumber++;
+            Batch batch = new Batch(lineNumber + 1, new ArrayList<>(batchSize));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                batch.lines.add(line);
+                if (batch.lines.size() == batchSize) {
+                    hand(batch, toWrite, writing);
+                    hand(batch, toValidate, writing);
+                    batch = new Batch(lineNumber + 1, new ArrayList<>(batchSize));
+                }
+            }
+            if (!batch.lines.isEmpty()) {
+                hand(batch, toWrite, writing);
+                hand(batch, toValidate, writing);
+            }
+        }
+        hand(END, toWrite, writing);
+        for (int i = 0; i < validators; i++) {
+            hand(END, toValidate, writing);
+        }
+    }
+
+    private static void hand(Batch batch, BlockingQueue<Batch> queue, Future<Summary> writing)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (writing.isDone()) {
+                writing.get();
+                throw new IllegalStateException("the writer stopped before the end of the input");
+            }
+        }
+    }
+
+    private Void validate(RecordFormat format, BlockingQueue<Batch> toValidate) throws InterruptedException {
+        Batch batch;
+        while ((batch = toValidate.take()) != END) {
+            try {
+                List<Validation<List<String>, Person>> results = new ArrayList<>(batch.lines.size());
+                for (String line : batch.lines) {
+                    results.add(validate(validator, format, line));
+                }
+                batch.results.complete(results);
+            } catch (RuntimeException | Error e) {
+                batch.results.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses and validates a single line, reporting a line that can't be parsed or has a line break in a field
+     * as invalid
+     */
+    static Validation<List<String>, Person> validate(Function<PersonForm, Validation<List<String>, Person>> validator,
+                                                     RecordFormat format, String line) {
+        PersonForm form;
+        try {
+            form = format.parse(line);
+        } catch (IllegalArgumentException e) {
+            return Validation.fail(Errors.of("Record is not valid " + format + ": " + e.getMessage() + "."));
+        }
+        if (hasLineBreak(form.firstName) || hasLineBreak(form.lastName)
+                || hasLineBreak(form.email) || hasLineBreak(form.age))
+            return Validation.fail(Errors.of("Record has a line break in a field."));
+        return validator.apply(form);
+    }
+
+    private static boolean hasLineBreak(String field) {
+        return field != null && Encoding.hasLineBreak(field);
+    }
+
+    private static Summary write(BlockingQueue<Batch> toWrite,
+                                 RecordSink<Person> validSink, RecordSink<List<String>> errorSink)
+            throws IOException, InterruptedException, ExecutionException {
+        long valid = 0;
+        long invalid = 0;
+        Batch batch;
+        while ((batch = toWrite.take()) != END) {
+            long lineNumber = batch.firstLineNumber;
+            for (Validation<List<String>, Person> result : batch.results.get()) {
+                if (result.isSuccess()) {
+                    validSink.write(lineNumber, result.success());
+                    valid++;
+                } else {
+                    errorSink.write(lineNumber, result.fail());
+                    invalid++;
+                }
+                lineNumber++;
+            }
+        }
+        return new Summary(valid, invalid);
+    }
+
+
+    private static final class Batch {
+        final long firstLineNumber;
+        final List<String> lines;
+        final CompletableFuture<List<Validation<List<String>, Person>>> results = new CompletableFuture<>();
+
+        Batch(long firstLineNumber, List<String> lines) {
+            this.firstLineNumber = firstLineNumber;
+            this.lines = lines;
+        }
+    }
+
+
+    /**
+     * The number of valid and invalid records of an import file
+     */
+    public static final class Summary {
+        public final long valid;
+        public final long invalid;
+
+        Summary(long valid, long invalid) {
+            this.valid = valid;
+            this.invalid = invalid;
+        }
+
+        public long records() {
+            return valid + invalid;
+        }
+
+        @Override
+        public String toString() {
+            return valid + " valid and " + invalid + " invalid records";
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.janbols.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * How far a bulk validation got: up to which byte of the input its records are written, the line number of the next
+ * record, the number of valid and invalid records so far, and the number of bytes written to both outputs for them.
+ * <p>
+ * A checkpoint file holds a magic number, the format version, the size of the input, the fields of the checkpoint
+ * and a CRC32 checksum of all of that. It is replaced atomically, so it always holds a complete checkpoint.
+ */
+public final class Checkpoint {
+    static final int MAGIC = 0x424b4350;
+    static final int VERSION = 1;
+    private static final int BYTES = 4 + 4 + 7 * 8 + 8;
+
+    public final long inputSize;
+    public final long inputOffset;
+    public final long nextLineNumber;
+    public final long valid;
+    public final long invalid;
+    public final long validOutputBytes;
+    public final long errorOutputBytes;
+
+    Checkpoint(long inputSize, long inputOffset, long nextLineNumber, long valid, long invalid,
+               long validOutputBytes, long errorOutputBytes) {
+        this.inputSize = inputSize;
+        this.inputOffset = inputOffset;
+        this.nextLineNumber = nextLineNumber;
+        this.valid = valid;
+        this.invalid = invalid;
+        this.validOutputBytes = validOutputBytes;
+        this.errorOutputBytes = errorOutputBytes;
+    }
+
+    /**
+     * The checkpoint of a bulk validation of an input of the given size that didn't start yet
+     */
+    static Checkpoint start(long inputSize) {
+        return new Checkpoint(inputSize, 0, 1, 0, 0, 0, 0);
+    }
+
+    /**
+     * Reads the checkpoint in the given file, if there is one
+     *
+     * @throws IOException when the file is not a complete checkpoint
+     */
+    public static Optional<Checkpoint> read(Path file) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length != BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            throw new IOException(file + " is not a bulk validation checkpoint");
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, BYTES - 8);
+        if (buffer.getLong(BYTES - 8) != crc.getValue())
+            throw new IOException(file + " is a corrupt bulk validation checkpoint");
+        return Optional.of(new Checkpoint(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), buffer.getLong()));
+    }
+
+    /**
+     * Replaces the checkpoint in the given file by this one, by writing it next to it and renaming it
+     */
+    void write(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putLong(inputSize).putLong(inputOffset).putLong(nextLineNumber)
+                .putLong(valid).putLong(invalid)
+                .putLong(validOutputBytes).putLong(errorOutputBytes);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, BYTES - 8);
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public String toString() {
+        return "checkpoint at byte " + inputOffset + " of " + inputSize + ", line " + nextLineNumber
+                + ", " + valid + " valid and " + invalid + " invalid records";
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.janbols.bulk;
+
+import com.github.janbols.domain.Person;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Writes the records of the {@link RecordSink}s as lines of text
+ */
+final class Encoding {
+
+    private Encoding() {
+    }
+
+
+    /**
+     * Writes a person as a CSV line of first name, last name, email and age
+     */
+    static void writePerson(Writer writer, long lineNumber, Person person) throws IOException {
+        writeCsvField(writer, person.name.first);
+        writer.write(',');
+        writeCsvField(writer, person.name.last);
+        writer.write(',');
+        writeCsvField(writer, person.email.value);
+        writer.write(',');
+        writer.write(person.age == null ? "" : person.age.toString());
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Writes errors as a JSON line holding the line number of their record and the errors
+     */
+    static void writeErrors(Writer writer, long lineNumber, List<String> errors) throws IOException {
+        writer.write("{\"line\":");
+        writer.write(Long.toString(lineNumber));
+        writer.write(",\"errors\":[");
+        for (int i = 0; i < errors.size(); i++) {
+            if (i > 0)
+                writer.write(',');
+            writeJsonString(writer, errors.get(i));
+        }
+        writer.write("]}");
+        writer.write(System.lineSeparator());
+    }
+
+
+    /**
+     * Writes a field of a CSV line, quoting it when it holds a comma or a quote
+     *
+     * @throws IllegalArgumentException when the field holds a line break, which would split the record over two lines
+     */
+    static void writeCsvField(Writer writer, String field) throws IOException {
+        checkArgument(!hasLineBreak(field), "a CSV field can't hold a line break but was %s", field);
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    static boolean hasLineBreak(String field) {
+        return field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+    }
+
+    static void writeJsonString(Writer writer, String string) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
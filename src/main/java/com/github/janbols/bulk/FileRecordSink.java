@@ -0,0 +1,81 @@
+package com.github.janbols.bulk;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A {@link RecordSink} writing its records as lines of text to a file, which can be synced to disk to know
+ * up to where the file is complete, and reopened from there.
+ *
+ * @param <T> The outcome of a record
+ */
+public final class FileRecordSink<T> implements RecordSink<T> {
+    private static final int BUFFER_CHARS = 1 << 16;
+
+    private final FileChannel channel;
+    private final Writer writer;
+    private final Encoder<T> encoder;
+
+    private FileRecordSink(FileChannel channel, Encoder<T> encoder) {
+        this.channel = channel;
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), UTF_8), BUFFER_CHARS);
+        this.encoder = encoder;
+    }
+
+    /**
+     * Opens the given file to write records from the given byte offset on, dropping whatever comes after it
+     */
+    static <T> FileRecordSink<T> open(Path file, long offset, Encoder<T> encoder) throws IOException {
+        FileChannel channel = FileChannel.open(file, CREATE, WRITE);
+        try {
+            checkState(channel.size() >= offset, "%s has %s bytes, less than the %s bytes to resume from",
+                    file, channel.size(), offset);
+            channel.truncate(offset);
+            channel.position(offset);
+            return new FileRecordSink<>(channel, encoder);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(long lineNumber, T record) throws IOException {
+        encoder.write(writer, lineNumber, record);
+    }
+
+    /**
+     * Writes the records written so far to disk
+     *
+     * @return the number of bytes in the file
+     */
+    public long sync() throws IOException {
+        writer.flush();
+        channel.force(false);
+        return channel.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+
+    /**
+     * Writes a record as a line of text
+     */
+    @FunctionalInterface
+    interface Encoder<T> {
+        void write(Writer writer, long lineNumber, T record) throws IOException;
+    }
+}
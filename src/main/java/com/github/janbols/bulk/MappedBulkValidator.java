@@ -0,0 +1,270 @@
+package com.github.janbols.bulk;
+
+import com.github.janbols.domain.Person;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.validation.Validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Validates an import file on all cores, by memory mapping it and splitting it into chunks that end at the end of
+ * a line. Every chunk is parsed and validated on its own on one of the worker threads, all sharing the same
+ * validator, e.g. a {@link com.github.janbols.validation.CompiledValidator}.
+ * <p>
+ * The calling thread writes the results of the chunks to the sinks in the order of the file, numbering the lines
+ * as it goes, so the workers don't need to know where their chunk starts. Only twice as many chunks as there are
+ * workers are mapped or waiting to be written at any time, which bounds the memory used whatever the file size.
+ * <p>
+ * Unlike {@link BulkValidationPipeline}, no thread reads the file: the workers read straight from the page cache,
+ * so the throughput scales with the number of workers.
+ * <p>
+ * A long validation can be checkpointed at the end of its chunks, to resume it from there when it was interrupted.
+ */
+public class MappedBulkValidator {
+    private static final int SCAN_BYTES = 4096;
+
+    private final Function<PersonForm, Validation<List<String>, Person>> validator;
+    private final int workers;
+    private final int chunkBytes;
+
+    /**
+     * @param validator  validates a single form. It is called from all workers at the same time.
+     * @param workers    the number of threads that parse and validate chunks
+     * @param chunkBytes about the number of bytes of a chunk. A chunk is extended to the end of its last line.
+     */
+    public MappedBulkValidator(Function<PersonForm, Validation<List<String>, Person>> validator,
+                               int workers, int chunkBytes) {
+        checkArgument(workers > 0, "workers must be positive but was %s", workers);
+        checkArgument(chunkBytes > 0 && chunkBytes <= 1 << 30,
+                "chunkBytes must be between 1 and 1 GiB but was %s", chunkBytes);
+        this.validator = validator;
+        this.workers = workers;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Validates every record of the given file, writing the valid persons to the given valid sink and
+     * the errors of the other records to the given error sink. The sinks are not closed.
+     *
+     * @return the number of records that were valid and invalid
+     */
+    public BulkValidationPipeline.Summary run(Path input, RecordFormat format,
+                                              RecordSink<Person> validSink,
+                                              RecordSink<List<String>> errorSink) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, READ)) {
+            return run(input, channel, format, validSink, errorSink, Checkpoint.start(channel.size()), progress -> {
+            });
+        }
+    }
+
+    /**
+     * Validates every record of the given file like {@link #run(Path, RecordFormat, RecordSink, RecordSink)},
+     * writing the valid persons to {@link RecordSink#persons(Path)} and the errors to
+     * {@link RecordSink#errorReport(Path)}, and checkpointing to the given checkpoint file every time about the given
+     * number of input bytes are validated.
+     * <p>
+     * When the checkpoint file exists, the validation resumes from it: both outputs are cut back to where they were
+     * at the checkpoint, and the input is validated from there on. The outputs end up the same as those of a run that
+     * was never interrupted. The checkpoint file is deleted once the whole input is validated.
+     *
+     * @return the number of records that were valid and invalid, including those before the checkpoint
+     */
+    public BulkValidationPipeline.Summary run(Path input, RecordFormat format,
+                                              Path validOutput, Path errorReport,
+                                              Path checkpointFile, long checkpointBytes) throws IOException {
+        checkArgument(checkpointBytes > 0, "checkpointBytes must be positive but was %s", checkpointBytes);
+        try (FileChannel channel = FileChannel.open(input, READ)) {
+            Checkpoint start = Checkpoint.read(checkpointFile).orElse(Checkpoint.start(channel.size()));
+            if (start.inputSize != channel.size())
+                throw new IOException(checkpointFile + " is a checkpoint of an input of " + start.inputSize
+                        + " bytes, but " + input + " has " + channel.size() + " bytes");
+
+            BulkValidationPipeline.Summary summary;
+            try (FileRecordSink<Person> validSink = RecordSink.persons(validOutput, start.validOutputBytes);
+                 FileRecordSink<List<String>> errorSink = RecordSink.errorReport(errorReport, start.errorOutputBytes)) {
+                long[] checkpointedOffset = {start.inputOffset};
+                summary = run(input, channel, format, validSink, errorSink, start, progress -> {
+                    if (progress.inputOffset - checkpointedOffset[0] < checkpointBytes)
+                        return;
+                    new Checkpoint(progress.inputSize, progress.inputOffset, progress.nextLineNumber,
+                            progress.valid, progress.invalid, validSink.sync(), errorSink.sync())
+                            .write(checkpointFile);
+                    checkpointedOffset[0] = progress.inputOffset;
+                });
+                validSink.sync();
+                errorSink.sync();
+            }
+            Files.deleteIfExists(checkpointFile);
+            return summary;
+        }
+    }
+
+    /**
+     * Validates the input from the given checkpoint on, passing the progress after every chunk that is written
+     * to the sinks to the given listener. The output bytes of that progress are not known here.
+     */
+    private BulkValidationPipeline.Summary run(Path input, FileChannel channel, RecordFormat format,
+                                               RecordSink<Person> validSink, RecordSink<List<String>> errorSink,
+                                               Checkpoint start, ProgressListener listener) throws IOException {
+        ExecutorService threads = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-validation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Chunk> chunks = chunks(channel, start.inputOffset, chunkBytes);
+            int window = 2 * workers;
+            List<Future<ChunkResult>> results = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size() && i < window; i++) {
+                results.add(submit(threads, channel, chunks.get(i), format));
+            }
+
+            long valid = start.valid;
+            long invalid = start.invalid;
+            long lineNumber = start.nextLineNumber;
+            for (int i = 0; i < chunks.size(); i++) {
+                ChunkResult result = results.get(i).get();
+                results.set(i, null);
+                if (i + window < chunks.size())
+                    results.add(submit(threads, channel, chunks.get(i + window), format));
+
+                lineNumber += result.skippedLines;
+                for (Validation<List<String>, Person> validation : result.validations) {
+                    if (validation.isSuccess()) {
+                        validSink.write(lineNumber, validation.success());
+                        valid++;
+                    } else {
+                        errorSink.write(lineNumber, validation.fail());
+                        invalid++;
+                    }
+                    lineNumber++;
+                }
+                Chunk chunk = chunks.get(i);
+                listener.written(new Checkpoint(start.inputSize, chunk.start + chunk.length, lineNumber,
+                        valid, invalid, -1, -1));
+            }
+            return new BulkValidationPipeline.Summary(valid, invalid);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while validating " + input, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ?
+                    (IOException) e.getCause() :
+                    new IOException("failed to validate " + input, e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private Future<ChunkResult> submit(ExecutorService threads, FileChannel channel, Chunk chunk, RecordFormat format) {
+        return threads.submit(() -> validate(channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.length),
+                chunk.start == 0 && format.hasHeader(), format));
+    }
+
+
+    /**
+     * Splits the file from the given offset on into chunks of about the given number of bytes,
+     * each one extended to the end of its last line
+     */
+    static List<Chunk> chunks(FileChannel channel, long offset, int chunkBytes) throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BYTES);
+        long start = offset;
+        while (start < size) {
+            long end = Math.min(size, start + chunkBytes);
+            end = endOfLine(channel, end, size, scan);
+            checkState(end - start <= Integer.MAX_VALUE, "a line at %s is too long to be mapped", start);
+            chunks.add(new Chunk(start, (int) (end - start)));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the position just after the first line feed at or after the given position minus one,
+     * or the size of the file when there is none
+     */
+    private static long endOfLine(FileChannel channel, long position, long size, ByteBuffer scan) throws IOException {
+        long at = position - 1;
+        while (at < size) {
+            scan.clear();
+            int read = channel.read(scan, at);
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n')
+                    return at + i + 1;
+            }
+            at += read;
+        }
+        return size;
+    }
+
+    private ChunkResult validate(MappedByteBuffer chunk, boolean skipHeader, RecordFormat format) {
+        List<Validation<List<String>, Person>> validations = new ArrayList<>();
+        byte[] line = new byte[256];
+        int skippedLines = 0;
+        while (chunk.hasRemaining()) {
+            int length = 0;
+            while (chunk.hasRemaining()) {
+                byte b = chunk.get();
+                if (b == '\n')
+                    break;
+                if (length == line.length)
+                    line = Arrays.copyOf(line, length * 2);
+                line[length++] = b;
+            }
+            if (length > 0 && line[length - 1] == '\r')
+                length--;
+            if (skipHeader) {
+                skipHeader = false;
+                skippedLines++;
+                continue;
+            }
+            validations.add(BulkValidationPipeline.validate(validator, format, new String(line, 0, length, UTF_8)));
+        }
+        return new ChunkResult(skippedLines, validations);
+    }
+
+
+    @FunctionalInterface
+    private interface ProgressListener {
+        void written(Checkpoint progress) throws IOException;
+    }
+
+    static final class Chunk {
+        final long start;
+        final int length;
+
+        Chunk(long start, int length) {
+            this.start = start;
+            this.length = length;
+        }
+    }
+
+    private static final class ChunkResult {
+        final int skippedLines;
+        final List<Validation<List<String>, Person>> validations;
+
+        ChunkResult(int skippedLines, List<Validation<List<String>, Person>> validations) {
+            this.skippedLines = skippedLines;
+            this.validations = validations;
+        }
+    }
+}
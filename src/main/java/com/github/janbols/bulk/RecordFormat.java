@@ -0,0 +1,228 @@
+package com.github.janbols.bulk;
+
+import com.github.janbols.domain.PersonForm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The formats of the lines of an import file, each line holding the fields of one {@link PersonForm}
+ */
+public enum RecordFormat {
+
+    /**
+     * Comma separated first name, last name, email and age, without a header line.
+     * Fields can be quoted with double quotes, doubling the quotes inside them. An empty field is missing.
+     */
+    CSV {
+        @Override
+        public PersonForm parse(String line) {
+            List<String> fields = csvFields(line);
+            if (fields.size() != 4)
+                throw new IllegalArgumentException("expected 4 fields but found " + fields.size());
+            return new PersonForm(fields.get(0), fields.get(1), fields.get(2), fields.get(3));
+        }
+    },
+
+    /**
+     * Like {@link #CSV}, with a header line that is skipped
+     */
+    CSV_WITH_HEADER {
+        @Override
+        public PersonForm parse(String line) {
+            return CSV.parse(line);
+        }
+
+        @Override
+        public boolean hasHeader() {
+            return true;
+        }
+    },
+
+    /**
+     * A JSON object per line, with the string, number or null members <code>firstName</code>,
+     * <code>lastName</code>, <code>email</code> and <code>age</code>. Other members are ignored
+     * and a member that is not there is missing.
+     */
+    JSON_LINES {
+        @Override
+        public PersonForm parse(String line) {
+            Map<String, String> members = new JsonObjectParser(line).parse();
+            return new PersonForm(members.get("firstName"), members.get("lastName"),
+                    members.get("email"), members.get("age"));
+        }
+    };
+
+
+    /**
+     * Parses a single line into a form
+     *
+     * @throws IllegalArgumentException when the line is not a record in this format
+     */
+    public abstract PersonForm parse(String line);
+
+    public boolean hasHeader() {
+        return false;
+    }
+
+
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"')
+                    field.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    field.append(line.charAt(++i));
+                else
+                    quoted = false;
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (wasQuoted) {
+                throw new IllegalArgumentException("unexpected " + c + " after a quoted field at " + i);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted)
+            throw new IllegalArgumentException("unterminated quoted field");
+        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+        return fields;
+    }
+
+
+    /**
+     * Parses a single flat JSON object, keeping number members as their text
+     */
+    private static final class JsonObjectParser {
+        private final String json;
+        private int position;
+
+        JsonObjectParser(String json) {
+            this.json = json;
+        }
+
+        Map<String, String> parse() {
+            Map<String, String> members = new HashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                position++;
+            } else {
+                do {
+                    String name = string();
+                    expect(':');
+                    members.put(name, value());
+                } while (next() == ',');
+                position--;
+                expect('}');
+            }
+            skipWhitespace();
+            if (position != json.length())
+                throw malformed("unexpected content after the object");
+            return members;
+        }
+
+        private String value() {
+            char c = peek();
+            if (c == '"')
+                return string();
+            if (json.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            int start = position;
+            while (position < json.length() && "+-.0123456789eE".indexOf(json.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position)
+                throw malformed("expected a string, number or null");
+            return json.substring(start, position);
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder result = new StringBuilder();
+            while (true) {
+                if (position >= json.length())
+                    throw malformed("unterminated string");
+                char c = json.charAt(position++);
+                if (c == '"')
+                    return result.toString();
+                if (c != '\\') {
+                    result.append(c);
+                    continue;
+                }
+                if (position >= json.length())
+                    throw malformed("unterminated string");
+                char escaped = json.charAt(position++);
+                switch (escaped) {
+                    case 'b':
+                        result.append('\b');
+                        break;
+                    case 'f':
+                        result.append('\f');
+                        break;
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > json.length())
+                            throw malformed("incomplete unicode escape");
+                        try {
+                            result.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw malformed("invalid unicode escape");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        result.append(escaped);
+                }
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected)
+                throw malformed("expected " + expected);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private char peek() {
+            skipWhitespace();
+            if (position >= json.length())
+                throw malformed("unexpected end of line");
+            return json.charAt(position);
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException malformed(String reason) {
+            return new IllegalArgumentException(reason + " at " + position);
+        }
+    }
+}
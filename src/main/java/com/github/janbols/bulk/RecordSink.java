@@ -0,0 +1,56 @@
+package com.github.janbols.bulk;
+
+import com.github.janbols.domain.Person;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Receives the outcome of the records of an import file, one record at a time, in the order of the file
+ *
+ * @param <T> The outcome of a record
+ */
+@FunctionalInterface
+public interface RecordSink<T> extends Closeable {
+
+    /**
+     * Writes the outcome of the record on the given line of the import file
+     */
+    void write(long lineNumber, T record) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+
+    /**
+     * Writes every valid person as a CSV line of first name, last name, email and age to the given file
+     */
+    static FileRecordSink<Person> persons(Path file) throws IOException {
+        return persons(file, 0);
+    }
+
+    /**
+     * Like {@link #persons(Path)}, keeping the given number of bytes already in the file
+     */
+    static FileRecordSink<Person> persons(Path file, long offset) throws IOException {
+        return FileRecordSink.open(file, offset, Encoding::writePerson);
+    }
+
+    /**
+     * Writes the errors of every invalid record as a JSON line holding its line number and its errors
+     * to the given file
+     */
+    static FileRecordSink<List<String>> errorReport(Path file) throws IOException {
+        return errorReport(file, 0);
+    }
+
+    /**
+     * Like {@link #errorReport(Path)}, keeping the given number of bytes already in the file
+     */
+    static FileRecordSink<List<String>> errorReport(Path file, long offset) throws IOException {
+        return FileRecordSink.open(file, offset, Encoding::writeErrors);
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.janbols.domain;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A batch of {@link PersonForm}s stored column by column: one array per field, the forms being the rows.
+ * A rule that checks a single field only reads the array of that field, one value after the other.
+ * Only the first {@link #size()} rows of the arrays hold forms.
+ */
+public final class PersonFormBatch {
+    public final String[] firstNames;
+    public final String[] lastNames;
+    public final String[] emails;
+    public final String[] ages;
+    private int size;
+
+    public PersonFormBatch(int capacity) {
+        checkArgument(capacity >= 0, "capacity can not be negative but was %s", capacity);
+        this.firstNames = new String[capacity];
+        this.lastNames = new String[capacity];
+        this.emails = new String[capacity];
+        this.ages = new String[capacity];
+    }
+
+    public static PersonFormBatch of(List<PersonForm> forms) {
+        PersonFormBatch batch = new PersonFormBatch(forms.size());
+        for (PersonForm form : forms) {
+            batch.add(form);
+        }
+        return batch;
+    }
+
+
+    /**
+     * Adds the given form as the last row
+     */
+    public void add(PersonForm form) {
+        checkState(size < capacity(), "the batch is full");
+        firstNames[size] = form.firstName;
+        lastNames[size] = form.lastName;
+        emails[size] = form.email;
+        ages[size] = form.age;
+        size++;
+    }
+
+    /**
+     * Returns the form on the given row
+     */
+    public PersonForm get(int row) {
+        checkElementIndex(row, size);
+        return new PersonForm(firstNames[row], lastNames[row], emails[row], ages[row]);
+    }
+
+    /**
+     * Returns the array holding the values of the given field
+     */
+    public String[] column(PersonForm.Field field) {
+        switch (field) {
+            case FIRSTNAME:
+                return firstNames;
+            case LASTNAME:
+                return lastNames;
+            case EMAIL:
+                return emails;
+            case AGE:
+                return ages;
+            default:
+                throw new IllegalArgumentException(field + " is not a column of a person form");
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return firstNames.length;
+    }
+
+    /**
+     * Removes all rows, to fill the batch again
+     */
+    public void clear() {
+        for (String[] column : new String[][]{firstNames, lastNames, emails, ages}) {
+            Arrays.fill(column, 0, size, null);
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+import fj.F3;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.github.janbols.validation.ValidationRule.combineErrors;
+
+/**
+ * Defines a validation rule whose outcome is only known later, e.g. because it waits for I/O
+ * without blocking the calling thread.
+ * A {@link ValidationRule} becomes an {@link AsyncValidationRule} with {@link #of(ValidationRule)}.
+ *
+ * @param <A> The input type to validate
+ * @param <B> The resulting validated value
+ */
+@FunctionalInterface
+public interface AsyncValidationRule<A, B> {
+
+
+    /**
+     * Starts validating the given input value of type A for the given target
+     *
+     * @param value
+     * @param target
+     * @return the future Validation of either a list of strings or a value of type B
+     */
+    CompletableFuture<Validation<List<String>, B>> validate(A value, Field target);
+
+
+    /**
+     * Lifts the given rule into an async rule that is already completed when it returns.
+     * When the rule throws, the returned future fails instead.
+     */
+    static <A, B> AsyncValidationRule<A, B> of(ValidationRule<A, B> rule) {
+        return (value, target) -> Futures.start(() -> CompletableFuture.completedFuture(rule.validate(value, target)));
+    }
+
+    /**
+     * Lifts the given blocking rule into an async rule that runs it on the given executor
+     */
+    static <A, B> AsyncValidationRule<A, B> of(ValidationRule<A, B> rule, Executor executor) {
+        return (value, target) -> CompletableFuture.supplyAsync(() -> rule.validate(value, target), executor);
+    }
+
+
+    /**
+     * Maps the successful output to another output, using the given mapping function
+     */
+    default <C> AsyncValidationRule<A, C> map(Function<B, C> f) {
+        return (value, target) -> validate(value, target).thenApply(validation -> validation.map(f));
+    }
+
+    /**
+     * Maps the input of this rule to another input, using the given mapping function.
+     * When the mapping function throws, the returned future fails instead.
+     */
+    default <C> AsyncValidationRule<C, B> contraMap(Function<C, A> f) {
+        return (value, target) -> Futures.start(() -> validate(f.apply(value), target));
+    }
+
+    /**
+     * Binds the given other {@link AsyncValidationRule} across the success value of this rule,
+     * once this rule completed.
+     */
+    default <C> AsyncValidationRule<A, C> chain(AsyncValidationRule<B, C> other) {
+        return (value, target) -> validate(value, target).thenCompose(validation -> validation.isSuccess() ?
+                other.validate(validation.success(), target) :
+                CompletableFuture.completedFuture(Validation.fail(validation.fail())));
+    }
+
+    /**
+     * Binds the given other {@link ValidationRule} across the success value of this rule, once this rule completed.
+     */
+    default <C> AsyncValidationRule<A, C> chainSync(ValidationRule<B, C> other) {
+        return (value, target) -> validate(value, target)
+                .thenApply(validation -> validation.chain(result -> other.validate(result, target)));
+    }
+
+    /**
+     * Runs this and the given other {@link AsyncValidationRule} at the same time, and accumulates their errors
+     * like {@link Validation#combine(Validation, Validation, BiFunction, BiFunction)}, or applies the given function
+     * if both succeeded.
+     * When a rule throws instead of returning its future, the returned future fails once the other rule completed.
+     */
+    default <C, RESULT> AsyncValidationRule<A, RESULT> combine(AsyncValidationRule<A, C> other,
+                                                               BiFunction<B, C, RESULT> composeResult) {
+        return (value, target) -> Futures.start(() -> validate(value, target))
+                .thenCombine(Futures.start(() -> other.validate(value, target)),
+                        (first, second) -> Validation.combine(first, second, combineErrors, composeResult));
+    }
+
+    static <A, B, C, RESULT> AsyncValidationRule<A, RESULT> combine(
+            AsyncValidationRule<A, B> first,
+            AsyncValidationRule<A, C> second,
+            BiFunction<B, C, RESULT> composeResult) {
+        return first.combine(second, composeResult);
+    }
+
+    /**
+     * Runs this and the second and third {@link AsyncValidationRule}s at the same time, and accumulates their errors
+     * like {@link Validation#combine(Validation, Validation, Validation, BiFunction, F3)}, or applies the given
+     * function if all succeeded.
+     * When a rule throws instead of returning its future, the returned future fails once the other rules completed.
+     */
+    default <C, D, RESULT> AsyncValidationRule<A, RESULT> combine(
+            AsyncValidationRule<A, C> second,
+            AsyncValidationRule<A, D> third,
+            F3<B, C, D, RESULT> composeResult) {
+        return (value, target) -> {
+            CompletableFuture<Validation<List<String>, B>> firstResult = Futures.start(() -> validate(value, target));
+            CompletableFuture<Validation<List<String>, C>> secondResult =
+                    Futures.start(() -> second.validate(value, target));
+            CompletableFuture<Validation<List<String>, D>> thirdResult =
+                    Futures.start(() -> third.validate(value, target));
+            return CompletableFuture.allOf(firstResult, secondResult, thirdResult)
+                    .thenApply(done -> Validation.combine(
+                            firstResult.join(),
+                            secondResult.join(),
+                            thirdResult.join(),
+                            combineErrors, composeResult));
+        };
+    }
+
+    static <A, B, C, D, RESULT> AsyncValidationRule<A, RESULT> combine(
+            AsyncValidationRule<A, B> first,
+            AsyncValidationRule<A, C> second,
+            AsyncValidationRule<A, D> third,
+            F3<B, C, D, RESULT> composeResult) {
+        return first.combine(second, third, composeResult);
+    }
+
+    /**
+     * Turns this rule back into a {@link ValidationRule} that waits for the outcome of this rule.
+     * Work this rule hands off to other threads still overlaps with the work it does on the calling thread,
+     * e.g. a lookup started by the first branch of a combine runs while the other branches validate.
+     */
+    default ValidationRule<A, B> join() {
+        return (value, target) -> validate(value, target).join();
+    }
+
+    /**
+     * Fixes the target of this rule
+     */
+    default AsyncValidationRule<A, B> withTarget(Field target) {
+        return (value, ignored) -> validate(value, target);
+    }
+
+    /**
+     * Validates a value extracted from the input with this rule, for the given target.
+     * When the extractor throws, the returned future fails instead.
+     */
+    default <FROM> AsyncValidationRule<FROM, B> from(Function<FROM, A> extractor, Field target) {
+        return (value, ignored) -> Futures.start(() -> validate(extractor.apply(value), target));
+    }
+}
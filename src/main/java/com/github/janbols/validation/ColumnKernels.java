@@ -0,0 +1,91 @@
+package com.github.janbols.validation;
+
+import java.util.BitSet;
+
+import static org.apache.commons.lang3.StringUtils.contains;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * The loops of the {@link ColumnarValidator} that scan the strings of a column, marking the rows that fail a check
+ * among the rows it is given.
+ * <p>
+ * The {@link #SCALAR} kernels check one character at a time. {@link #load()} loads the kernels of the
+ * <code>vector</code> source set instead, which check many characters at once with the incubating Vector API, when
+ * the <code>jdk.incubator.vector</code> module is there: on a JVM of version 16 or later that was started with
+ * <code>--add-modules jdk.incubator.vector</code>.
+ */
+interface ColumnKernels {
+
+    ColumnKernels SCALAR = new Scalar();
+
+    /**
+     * Marks the rows that are blank, like {@link ValidationRule#required}
+     */
+    void required(String[] values, BitSet rows, BitSet failures);
+
+    /**
+     * Marks the rows that don't contain the given string, like {@link ValidationRule#containing(String)}
+     */
+    void containing(String[] values, String searchString, BitSet rows, BitSet failures);
+
+    /**
+     * Marks the rows that are not an integer, like {@link ValidationRule#isInteger}, and fills in the integers of
+     * the other rows
+     */
+    void isInteger(String[] values, int[] ints, BitSet rows, BitSet failures);
+
+
+    /**
+     * Returns the Vector API kernels when they and the <code>jdk.incubator.vector</code> module are there,
+     * or else the {@link #SCALAR} kernels
+     */
+    static ColumnKernels load() {
+        try {
+            Class.forName("jdk.incubator.vector.ShortVector");
+            return (ColumnKernels) Class.forName("com.github.janbols.validation.VectorColumnKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+
+
+    final class Scalar implements ColumnKernels {
+
+        private Scalar() {
+        }
+
+        @Override
+        public void required(String[] values, BitSet rows, BitSet failures) {
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!isNotBlank(values[row]))
+                    failures.set(row);
+            }
+        }
+
+        @Override
+        public void containing(String[] values, String searchString, BitSet rows, BitSet failures) {
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!contains(values[row], searchString))
+                    failures.set(row);
+            }
+        }
+
+        @Override
+        public void isInteger(String[] values, int[] ints, BitSet rows, BitSet failures) {
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                long parsed = NumberParsing.tryParseInt(values[row]);
+                if (parsed == NumberParsing.NOT_AN_INT)
+                    failures.set(row);
+                else
+                    ints[row] = (int) parsed;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "scalar kernels";
+        }
+    }
+}
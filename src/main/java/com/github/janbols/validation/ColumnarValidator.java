@@ -0,0 +1,358 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+import com.github.janbols.domain.PersonFormBatch;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Validates a {@link PersonFormBatch} column by column with the built-in checks: every check runs over all values
+ * of its column in one loop, before the next check starts, and marks the rows that fail it in a {@link BitSet}.
+ * <p>
+ * The rule of a column is made of {@link RuleNode.Required}, {@link RuleNode.MaxLength}, {@link RuleNode.Containing},
+ * {@link RuleNode.IsInteger} and {@link RuleNode.Between} checks, chained or combined like they would be to validate a
+ * single value. Like in {@link RuleNode.StringChecks}, the checks are grouped in stages: the checks of one stage
+ * accumulate their errors like a combine, and a row only goes through a stage when it passed all stages before it,
+ * like a chain. A combine or a map ends the rule, as the checks can't see the value it creates.
+ * <p>
+ * No error message is created while validating. The messages of a row are only created when its
+ * {@link Result#errors(int)} are asked for, and are the same as those of the checks validating the row on its own.
+ * <p>
+ * The required, containing and integer checks scan their strings with the {@link ColumnKernels} that are loaded,
+ * which use the Vector API when the <code>jdk.incubator.vector</code> module is there.
+ */
+public final class ColumnarValidator {
+    private static final ColumnKernels KERNELS = ColumnKernels.load();
+
+    private final List<Column> columns;
+    private final ColumnKernels kernels;
+
+    private ColumnarValidator(List<Column> columns, ColumnKernels kernels) {
+        this.columns = columns;
+        this.kernels = kernels;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    /**
+     * Validates the rows of the given batch
+     */
+    public Result validate(PersonFormBatch batch) {
+        int size = batch.size();
+        List<ColumnResult> results = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            results.add(column.validate(batch.column(column.field), size, kernels));
+        }
+        return new Result(size, results);
+    }
+
+
+    public static final class Builder {
+        private final List<Column> columns = new ArrayList<>();
+        private ColumnKernels kernels = KERNELS;
+
+        private Builder() {
+        }
+
+        /**
+         * Validates every value of the given field with the given rule
+         *
+         * @throws IllegalArgumentException when the rule is not made of built-in checks only
+         */
+        public Builder column(Field field, ValidationRule<String, ?> rule) {
+            columns.add(new Column(field, false, stages(rule)));
+            return this;
+        }
+
+        /**
+         * Like {@link #column(Field, ValidationRule)}, letting a blank value pass without validating it, like
+         * {@link ValidationRule#optionalOr(ValidationRule)}
+         */
+        public Builder optionalColumn(Field field, ValidationRule<String, ?> rule) {
+            columns.add(new Column(field, true, stages(rule)));
+            return this;
+        }
+
+        /**
+         * Scans the strings with the given kernels instead of the ones that are loaded
+         */
+        Builder kernels(ColumnKernels kernels) {
+            this.kernels = kernels;
+            return this;
+        }
+
+        public ColumnarValidator build() {
+            return new ColumnarValidator(ImmutableList.copyOf(columns), kernels);
+        }
+    }
+
+
+    /**
+     * What the checks of a column see: the string of the column, the integer it was parsed into,
+     * or a value created by a combine or a map that no check can see
+     */
+    private enum Input {
+        STRING, INT, OPAQUE
+    }
+
+    private static List<List<RuleNode<?, ?>>> stages(ValidationRule<String, ?> rule) {
+        List<List<RuleNode<?, ?>>> stages = new ArrayList<>();
+        flatten(rule, Input.STRING, stages);
+        return ImmutableList.copyOf(stages);
+    }
+
+    /**
+     * Adds the stages of the given rule to the given stages
+     *
+     * @return what a rule chained after the given one would see
+     */
+    private static Input flatten(ValidationRule<?, ?> rule, Input input, List<List<RuleNode<?, ?>>> stages) {
+        if (rule instanceof RuleNode.Costed)
+            return flatten(((RuleNode.Costed<?, ?>) rule).rule, input, stages);
+        if (rule instanceof RuleNode.StringChecks) {
+            RuleNode.StringChecks<?> node = (RuleNode.StringChecks<?>) rule;
+            expect(Input.STRING, input, rule);
+            for (List<RuleNode<String, String>> stage : node.stages) {
+                stages.add(ImmutableList.<RuleNode<?, ?>>copyOf(stage));
+            }
+            return node.result == null ? Input.STRING : Input.OPAQUE;
+        }
+        if (rule instanceof RuleNode.Chain) {
+            RuleNode.Chain<?, ?, ?> node = (RuleNode.Chain<?, ?, ?>) rule;
+            return flatten(node.second, flatten(node.first, input, stages), stages);
+        }
+        if (rule instanceof RuleNode.Map) {
+            flatten(((RuleNode.Map<?, ?, ?>) rule).rule, input, stages);
+            return Input.OPAQUE;
+        }
+        if (rule instanceof RuleNode.Combine2) {
+            RuleNode.Combine2<?, ?, ?, ?> node = (RuleNode.Combine2<?, ?, ?, ?>) rule;
+            stages.add(ImmutableList.of(check(node.first, input), check(node.second, input)));
+            return Input.OPAQUE;
+        }
+        if (rule instanceof RuleNode.Combine3) {
+            RuleNode.Combine3<?, ?, ?, ?, ?> node = (RuleNode.Combine3<?, ?, ?, ?, ?>) rule;
+            stages.add(ImmutableList.of(check(node.first, input), check(node.second, input), check(node.third, input)));
+            return Input.OPAQUE;
+        }
+        if (rule instanceof RuleNode.CombineN) {
+            List<RuleNode<?, ?>> stage = new ArrayList<>();
+            for (ValidationRule<?, ?> branch : ((RuleNode.CombineN<?, ?>) rule).branches) {
+                stage.add(check(branch, input));
+            }
+            stages.add(ImmutableList.copyOf(stage));
+            return Input.OPAQUE;
+        }
+        RuleNode<?, ?> check = check(rule, input);
+        stages.add(ImmutableList.of(check));
+        return check instanceof RuleNode.IsInteger || check instanceof RuleNode.Between ? Input.INT : Input.STRING;
+    }
+
+    /**
+     * Returns the given rule as a single built-in check on the given input
+     */
+    private static RuleNode<?, ?> check(ValidationRule<?, ?> rule, Input input) {
+        if (rule instanceof RuleNode.Costed)
+            return check(((RuleNode.Costed<?, ?>) rule).rule, input);
+        if (rule instanceof RuleNode.Required || rule instanceof RuleNode.MaxLength
+                || rule instanceof RuleNode.Containing || rule instanceof RuleNode.IsInteger) {
+            expect(Input.STRING, input, rule);
+            return (RuleNode<?, ?>) rule;
+        }
+        if (rule instanceof RuleNode.Between) {
+            expect(Input.INT, input, rule);
+            return (RuleNode<?, ?>) rule;
+        }
+        throw new IllegalArgumentException(rule + " is not a built-in check that can validate a column");
+    }
+
+    private static void expect(Input expected, Input input, ValidationRule<?, ?> rule) {
+        if (input != expected)
+            throw new IllegalArgumentException(rule + " checks a " + expected.name().toLowerCase() + " but gets "
+                    + (input == Input.OPAQUE ? "the value of a combine or map" : "a " + input.name().toLowerCase()));
+    }
+
+
+    private static final class Column {
+        final Field field;
+        final boolean optional;
+        final List<List<RuleNode<?, ?>>> stages;
+        final boolean parsesInts;
+
+        Column(Field field, boolean optional, List<List<RuleNode<?, ?>>> stages) {
+            this.field = field;
+            this.optional = optional;
+            this.stages = stages;
+            this.parsesInts = stages.stream().flatMap(List::stream).anyMatch(check -> check instanceof RuleNode.IsInteger);
+        }
+
+        ColumnResult validate(String[] values, int size, ColumnKernels kernels) {
+            BitSet passing = new BitSet(size);
+            passing.set(0, size);
+            if (optional) {
+                for (int row = 0; row < size; row++) {
+                    if (isBlank(values[row]))
+                        passing.clear(row);
+                }
+            }
+            int[] ints = parsesInts ? new int[size] : null;
+
+            List<CheckResult> checks = new ArrayList<>();
+            for (List<RuleNode<?, ?>> stage : stages) {
+                BitSet stageFailures = new BitSet(size);
+                for (RuleNode<?, ?> check : stage) {
+                    BitSet failures = validate(check, values, ints, passing, kernels);
+                    stageFailures.or(failures);
+                    checks.add(new CheckResult(check, failures));
+                }
+                passing.andNot(stageFailures);
+            }
+            return new ColumnResult(field, values, ints, checks);
+        }
+
+        /**
+         * Returns the rows among the given rows that fail the given check, filling in the parsed integers
+         */
+        private static BitSet validate(RuleNode<?, ?> check, String[] values, int[] ints, BitSet rows,
+                                       ColumnKernels kernels) {
+            BitSet failures = new BitSet(values.length);
+            if (check instanceof RuleNode.Required) {
+                kernels.required(values, rows, failures);
+            } else if (check instanceof RuleNode.MaxLength) {
+                int max = ((RuleNode.MaxLength) check).max;
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    if (values[row].length() > max)
+                        failures.set(row);
+                }
+            } else if (check instanceof RuleNode.Containing) {
+                kernels.containing(values, ((RuleNode.Containing) check).searchString, rows, failures);
+            } else if (check instanceof RuleNode.IsInteger) {
+                kernels.isInteger(values, ints, rows, failures);
+            } else {
+                RuleNode.Between between = (RuleNode.Between) check;
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    if (ints[row] < between.min || ints[row] > between.max)
+                        failures.set(row);
+                }
+            }
+            return failures;
+        }
+    }
+
+    private static final class ColumnResult {
+        final Field field;
+        final String[] values;
+        final int[] ints;
+        final List<CheckResult> checks;
+
+        ColumnResult(Field field, String[] values, int[] ints, List<CheckResult> checks) {
+            this.field = field;
+            this.values = values;
+            this.ints = ints;
+            this.checks = checks;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> errors(CheckResult check, int row) {
+            if (check.check instanceof RuleNode.Between)
+                return ((RuleNode.Between) check.check).validate(ints[row], field).fail();
+            if (check.check instanceof RuleNode.IsInteger)
+                return NumberParsing.parseInt(values[row], field).fail();
+            return ((RuleNode<String, ?>) check.check).validate(values[row], field).fail();
+        }
+    }
+
+    private static final class CheckResult {
+        final RuleNode<?, ?> check;
+        final BitSet failures;
+
+        CheckResult(RuleNode<?, ?> check, BitSet failures) {
+            this.check = check;
+            this.failures = failures;
+        }
+    }
+
+
+    /**
+     * The rows of a batch that failed each check
+     */
+    public static final class Result {
+        private final int size;
+        private final List<ColumnResult> columns;
+        private final BitSet invalidRows;
+
+        private Result(int size, List<ColumnResult> columns) {
+            this.size = size;
+            this.columns = columns;
+            this.invalidRows = new BitSet(size);
+            for (ColumnResult column : columns) {
+                for (CheckResult check : column.checks) {
+                    invalidRows.or(check.failures);
+                }
+            }
+        }
+
+        /**
+         * Returns the number of rows that were validated
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the rows that failed the given check of the column of the given field.
+         * The check is the built-in check itself, e.g. <code>ValidationRule.required</code>.
+         *
+         * @throws IllegalArgumentException when the check is not one of that column
+         */
+        public BitSet failures(Field field, ValidationRule<?, ?> check) {
+            for (ColumnResult column : columns) {
+                if (column.field != field)
+                    continue;
+                for (CheckResult result : column.checks) {
+                    if (result.check == check)
+                        return (BitSet) result.failures.clone();
+                }
+            }
+            throw new IllegalArgumentException(check + " is not a check of the " + field.value + " column");
+        }
+
+        /**
+         * Returns the rows that failed any check
+         */
+        public BitSet invalidRows() {
+            return (BitSet) invalidRows.clone();
+        }
+
+        public boolean isValid(int row) {
+            return !invalidRows.get(row);
+        }
+
+        /**
+         * Returns the errors of the given row, in the order of the columns and their checks,
+         * or an empty list when the row is valid
+         */
+        public List<String> errors(int row) {
+            checkElementIndex(row, size);
+            if (isValid(row))
+                return Errors.empty();
+            List<String> errors = Errors.empty();
+            for (ColumnResult column : columns) {
+                for (CheckResult check : column.checks) {
+                    if (check.failures.get(row))
+                        errors = ValidationRule.combineErrors.apply(errors, column.errors(check, row));
+                }
+            }
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ValidationRule} graph frozen together with the target it validates.
+ * It is built once and can be shared between threads, as long as the rules it is made of are stateless.
+ *
+ * @param <A> The input type to validate
+ * @param <B> The resulting validated value
+ */
+public final class CompiledValidator<A, B> {
+    private final ValidationRule<A, B> rule;
+    private final Field target;
+
+    private CompiledValidator(ValidationRule<A, B> rule, Field target) {
+        this.rule = checkNotNull(rule);
+        this.target = checkNotNull(target);
+    }
+
+    /**
+     * Freezes the given rule graph, validating its input for the given target
+     */
+    public static <A, B> CompiledValidator<A, B> of(ValidationRule<A, B> rule, Field target) {
+        return new CompiledValidator<>(rule, target);
+    }
+
+    /**
+     * Validates the given input value
+     *
+     * @param value
+     * @return Validation of either a list of strings or a value of type B
+     */
+    public Validation<List<String>, B> validate(A value) {
+        return rule.validate(value, target);
+    }
+
+    /**
+     * Validates the given input value, evaluating only as much of the rule graph as the given mode needs
+     *
+     * @param value
+     * @param mode
+     * @return Validation of either a list of strings or a value of type B
+     */
+    public Validation<List<String>, B> validate(A value, EvaluationMode mode) {
+        return rule.validate(value, target, mode);
+    }
+
+    /**
+     * Returns the rule graph this validator was built from
+     */
+    public ValidationRule<A, B> rule() {
+        return rule;
+    }
+
+    /**
+     * Returns the target the input values are validated for
+     */
+    public Field target() {
+        return target;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.janbols.validation;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.List;
+import java.util.function.DoubleFunction;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
+
+/**
+ * A {@link Validation} specialised for a primitive <code>double</code> success value, so it doesn't need to be boxed.
+ * The failure side holds the same list of errors as {@link Validation}.
+ */
+public final class DoubleValidation {
+    private final List<String> e;
+    private final double t;
+
+    private DoubleValidation(List<String> fail, double success) {
+        this.e = fail;
+        this.t = success;
+    }
+
+
+    /**
+     * Returns a succeeding validation containing the given value.
+     */
+    public static DoubleValidation success(double t) {
+        return new DoubleValidation(null, t);
+    }
+
+    /**
+     * Returns a failing validation containing the given errors.
+     */
+    public static DoubleValidation fail(List<String> e) {
+        return new DoubleValidation(checkNotNull(e), 0d);
+    }
+
+
+    /**
+     * Returns <code>true</code> if this is a success, <code>false</code> otherwise.
+     */
+    public boolean isSuccess() {
+        return e == null;
+    }
+
+    /**
+     * Returns <code>true</code> if this is a failure, <code>false</code> otherwise.
+     */
+    public boolean isFail() {
+        return !isSuccess();
+    }
+
+    /**
+     * Returns the failing value, or throws an error if there is no failing value.
+     */
+    public List<String> fail() {
+        if (isFail())
+            return e;
+        else
+            throw new UnsupportedOperationException("DoubleValidation: fail on success value");
+    }
+
+    /**
+     * Returns the success value, or throws an error if there is no success value.
+     */
+    public double success() {
+        if (isSuccess())
+            return t;
+        else
+            throw new UnsupportedOperationException("DoubleValidation: success on fail value");
+    }
+
+
+    /**
+     * Maps the given function across the success side of this validation, leaving the primitive world.
+     */
+    public <A> Validation<List<String>, A> mapToObj(DoubleFunction<A> f) {
+        return isSuccess() ?
+                Validation.success(f.apply(t)) :
+                Validation.fail(e);
+    }
+
+    /**
+     * Returns this validation with its success value boxed.
+     */
+    public Validation<List<String>, Double> boxed() {
+        return isSuccess() ?
+                Validation.success(t) :
+                Validation.fail(e);
+    }
+
+
+    @Override
+    public String toString() {
+        return isSuccess() ?
+                new ToStringBuilder(this, SHORT_PREFIX_STYLE).append("success", t).toString() :
+                new ToStringBuilder(this, SHORT_PREFIX_STYLE).append("fail", e).toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.janbols.validation;
+
+import fj.Semigroup;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static fj.Semigroup.semigroup;
+
+/**
+ * An immutable list of error messages, meant for the failing side of a {@link Validation}.
+ * Appending and concatenating are O(1): they only create a node pointing to both halves.
+ * The messages are copied into a flat array the first time the list is read, and that array is kept for later reads.
+ */
+public final class Errors extends AbstractList<String> {
+
+    private static final Errors EMPTY = new Errors(new String[0]);
+
+    private final Errors left;
+    private final Errors right;
+    private final int size;
+    private volatile String[] flat;
+
+    private Errors(String[] flat) {
+        this.left = null;
+        this.right = null;
+        this.size = flat.length;
+        this.flat = flat;
+    }
+
+    private Errors(Errors left, Errors right) {
+        this.left = left;
+        this.right = right;
+        this.size = left.size + right.size;
+    }
+
+
+    /**
+     * Returns an empty list of errors.
+     */
+    public static Errors empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list containing the given error messages.
+     */
+    public static Errors of(String... errors) {
+        return errors.length == 0 ? EMPTY : new Errors(errors.clone());
+    }
+
+    /**
+     * Returns the given list as {@link Errors}, copying it only when it isn't one already.
+     */
+    public static Errors from(List<String> errors) {
+        if (errors instanceof Errors)
+            return (Errors) errors;
+        return errors.isEmpty() ? EMPTY : new Errors(errors.toArray(new String[0]));
+    }
+
+    /**
+     * Concatenates both lists of errors in O(1) when both are {@link Errors}.
+     */
+    public static Errors concat(List<String> e1, List<String> e2) {
+        return from(e1).append(from(e2));
+    }
+
+    /**
+     * Accumulates errors by concatenation, to be used in {@link Validation#accumulate}.
+     */
+    public static final Semigroup<List<String>> semigroup = semigroup(Errors::concat);
+
+
+    /**
+     * Returns a list with the given errors appended to these errors.
+     */
+    public Errors append(Errors other) {
+        if (other.size == 0)
+            return this;
+        if (size == 0)
+            return other;
+        return new Errors(this, other);
+    }
+
+    /**
+     * Returns a list with the given error appended to these errors.
+     */
+    public Errors append(String error) {
+        return append(of(error));
+    }
+
+
+    @Override
+    public String get(int index) {
+        return materialise()[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private String[] materialise() {
+        String[] result = flat;
+        if (result == null) {
+            result = flatten();
+            flat = result;
+        }
+        return result;
+    }
+
+    private String[] flatten() {
+        String[] result = new String[size];
+        int offset = 0;
+        Deque<Errors> todo = new ArrayDeque<>();
+        todo.push(this);
+        while (!todo.isEmpty()) {
+            Errors node = todo.pop();
+            String[] nodeFlat = node.flat;
+            if (nodeFlat != null) {
+                System.arraycopy(nodeFlat, 0, result, offset, nodeFlat.length);
+                offset += nodeFlat.length;
+            } else {
+                todo.push(node.right);
+                todo.push(node.left);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.janbols.validation.ValidationRule.combineErrors;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Decides how much of a {@link ValidationRule} graph is evaluated once it failed.
+ * A mode is chosen per call with {@link ValidationRule#validate(Object, Field, EvaluationMode)}, so the same rule
+ * graph serves every mode.
+ * <p>
+ * While the error budget of a mode is not used up, the branches of a combine are all evaluated as usual.
+ * Once it is used up, the remaining branches are skipped, together with any lookups they would do,
+ * and the errors beyond the budget are dropped.
+ * <p>
+ * A mode other than {@link #ALL} walks the {@link RuleNode}s of the graph itself, also of a compiled one,
+ * keeping the budget of the call on the way. Validating without a mode doesn't pay for any of that.
+ * A rule that is not a {@link RuleNode} can't be looked into and is evaluated as a whole, as are the branches of a
+ * {@link ValidationRule#combineInParallel} and fused string checks.
+ */
+public final class EvaluationMode {
+
+    /**
+     * Evaluates every branch and accumulates every error
+     */
+    public static final EvaluationMode ALL = new EvaluationMode(Integer.MAX_VALUE);
+
+    /**
+     * Stops at the first error, for when it only matters whether the input is valid
+     */
+    public static final EvaluationMode FAIL_FAST = new EvaluationMode(1);
+
+    private static final Validation<List<String>, ?> SKIPPED = Validation.fail(Errors.empty());
+
+    private final int maxErrors;
+
+    private EvaluationMode(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Stops once the given number of errors is found, and returns at most that many errors
+     */
+    public static EvaluationMode maxErrors(int maxErrors) {
+        checkArgument(maxErrors > 0, "maxErrors must be positive but was %s", maxErrors);
+        return maxErrors == Integer.MAX_VALUE ? ALL : new EvaluationMode(maxErrors);
+    }
+
+    public int maxErrors() {
+        return maxErrors;
+    }
+
+    @Override
+    public String toString() {
+        return this == ALL ? "ALL" : maxErrors == 1 ? "FAIL_FAST" : "MAX_ERRORS(" + maxErrors + ")";
+    }
+
+
+    /**
+     * Validates the given value with the given rule in this mode
+     */
+    <A, B> Validation<List<String>, B> validate(ValidationRule<A, B> rule, A value, Field target) {
+        if (this == ALL)
+            return rule.validate(value, target);
+        return limit(evaluate(rule, value, target, new Budget(maxErrors)));
+    }
+
+    private <B> Validation<List<String>, B> limit(Validation<List<String>, B> validation) {
+        return validation.isFail() && validation.fail().size() > maxErrors ?
+                Validation.fail(Errors.of(validation.fail().subList(0, maxErrors).toArray(new String[0]))) :
+                validation;
+    }
+
+
+    /**
+     * Evaluates the given rule like its <code>validate</code>, except that the branches of its combines
+     * go through the given budget
+     */
+    @SuppressWarnings("unchecked")
+    private static <A, B> Validation<List<String>, B> evaluate(ValidationRule<A, B> rule, A value, Field target, Budget budget) {
+        if (rule instanceof RuleCompiler.Compiled)
+            return evaluate(((RuleCompiler.Compiled<A, B>) rule).source, value, target, budget);
+        if (rule instanceof RuleNode.Map)
+            return evaluateMap((RuleNode.Map<A, ?, B>) rule, value, target, budget);
+        if (rule instanceof RuleNode.ContraMap)
+            return evaluateContraMap((RuleNode.ContraMap<?, B, A>) rule, value, target, budget);
+        if (rule instanceof RuleNode.WithTarget) {
+            RuleNode.WithTarget<A, B> node = (RuleNode.WithTarget<A, B>) rule;
+            return evaluate(node.rule, value, node.target, budget);
+        }
+        if (rule instanceof RuleNode.From)
+            return evaluateFrom((RuleNode.From<A, ?, B>) rule, value, budget);
+        if (rule instanceof RuleNode.Condition) {
+            RuleNode.Condition<A, B> node = (RuleNode.Condition<A, B>) rule;
+            return evaluate(node.tester.test(value) ? node.ruleWhenTrue : node.ruleWhenFalse, value, target, budget);
+        }
+        if (rule instanceof RuleNode.Costed)
+            return evaluate(((RuleNode.Costed<A, B>) rule).rule, value, target, budget);
+        if (rule instanceof RuleNode.Chain)
+            return evaluateChain((RuleNode.Chain<A, ?, B>) rule, value, target, budget);
+        if (rule instanceof RuleNode.Combine2)
+            return evaluateCombine2((RuleNode.Combine2<A, ?, ?, B>) rule, value, target, budget);
+        if (rule instanceof RuleNode.Combine3)
+            return evaluateCombine3((RuleNode.Combine3<A, ?, ?, ?, B>) rule, value, target, budget);
+        if (rule instanceof RuleNode.CombineN) {
+            RuleNode.CombineN<A, B> node = (RuleNode.CombineN<A, B>) rule;
+            List<Validation<List<String>, ?>> results = new ArrayList<>(node.branches.size());
+            for (ValidationRule<A, ?> branch : node.branches) {
+                results.add(branch(branch, value, target, budget));
+            }
+            return node.combine(results);
+        }
+        return rule.validate(value, target);
+    }
+
+    private static <A, B, C> Validation<List<String>, C> evaluateMap(RuleNode.Map<A, B, C> node, A value, Field target,
+                                                                    Budget budget) {
+        return evaluate(node.rule, value, target, budget).map(node.f);
+    }
+
+    private static <A, B, C> Validation<List<String>, B> evaluateContraMap(RuleNode.ContraMap<A, B, C> node, C value,
+                                                                          Field target, Budget budget) {
+        return evaluate(node.rule, node.f.apply(value), target, budget);
+    }
+
+    private static <FROM, A, B> Validation<List<String>, B> evaluateFrom(RuleNode.From<FROM, A, B> node, FROM value,
+                                                                        Budget budget) {
+        return evaluate(node.rule, node.extractor.apply(value), node.target, budget);
+    }
+
+    private static <A, B, C> Validation<List<String>, C> evaluateChain(RuleNode.Chain<A, B, C> node, A value,
+                                                                      Field target, Budget budget) {
+        return evaluate(node.first, value, target, budget)
+                .chain(firstResult -> evaluate(node.second, firstResult, target, budget));
+    }
+
+    private static <A, B, C, RESULT> Validation<List<String>, RESULT> evaluateCombine2(
+            RuleNode.Combine2<A, B, C, RESULT> node, A value, Field target, Budget budget) {
+        return Validation.combine(
+                branch(node.first, value, target, budget),
+                branch(node.second, value, target, budget),
+                combineErrors, node.composeResult);
+    }
+
+    private static <A, B, C, D, RESULT> Validation<List<String>, RESULT> evaluateCombine3(
+            RuleNode.Combine3<A, B, C, D, RESULT> node, A value, Field target, Budget budget) {
+        return Validation.combine(
+                branch(node.first, value, target, budget),
+                branch(node.second, value, target, budget),
+                branch(node.third, value, target, budget),
+                combineErrors, node.composeResult);
+    }
+
+    /**
+     * Evaluates one branch of a combine: skips it when the error budget is used up,
+     * and otherwise spends the budget on the errors it finds
+     */
+    private static <A, B> Validation<List<String>, B> branch(ValidationRule<A, B> rule, A value, Field target, Budget budget) {
+        if (budget.isUsedUp())
+            return skipped();
+        int spentBefore = budget.spent;
+        return budget.spend(spentBefore, evaluate(rule, value, target, budget));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <B> Validation<List<String>, B> skipped() {
+        return (Validation<List<String>, B>) SKIPPED;
+    }
+
+
+    private static final class Budget {
+        final int maxErrors;
+        /**
+         * The errors found so far. The errors of a branch include those of the branches nested in it,
+         * so after a branch the errors spent are set rather than added.
+         */
+        int spent;
+
+        Budget(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        boolean isUsedUp() {
+            return spent >= maxErrors;
+        }
+
+        <B> Validation<List<String>, B> spend(int spentBefore, Validation<List<String>, B> validation) {
+            if (validation.isFail())
+                spent = spentBefore + validation.fail().size();
+            return validation;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.janbols.validation;
+
+/**
+ * Functions taking 4 up to 16 arguments, used to compose the successes of the n-ary combines
+ * in {@link Validation} and {@link ValidationRule}.
+ */
+public final class Functions {
+
+    private Functions() {
+    }
+
+    @FunctionalInterface
+    public interface F4<T1, T2, T3, T4, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4);
+    }
+
+    @FunctionalInterface
+    public interface F5<T1, T2, T3, T4, T5, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5);
+    }
+
+    @FunctionalInterface
+    public interface F6<T1, T2, T3, T4, T5, T6, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6);
+    }
+
+    @FunctionalInterface
+    public interface F7<T1, T2, T3, T4, T5, T6, T7, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7);
+    }
+
+    @FunctionalInterface
+    public interface F8<T1, T2, T3, T4, T5, T6, T7, T8, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8);
+    }
+
+    @FunctionalInterface
+    public interface F9<T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9);
+    }
+
+    @FunctionalInterface
+    public interface F10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10);
+    }
+
+    @FunctionalInterface
+    public interface F11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10, T11 t11);
+    }
+
+    @FunctionalInterface
+    public interface F12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10, T11 t11, T12 t12);
+    }
+
+    @FunctionalInterface
+    public interface F13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10, T11 t11, T12 t12, T13 t13);
+    }
+
+    @FunctionalInterface
+    public interface F14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10, T11 t11, T12 t12, T13 t13, T14 t14);
+    }
+
+    @FunctionalInterface
+    public interface F15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10, T11 t11, T12 t12, T13 t13, T14 t14, T15 t15);
+    }
+
+    @FunctionalInterface
+    public interface F16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> {
+        RESULT apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8, T9 t9, T10 t10, T11 t11, T12 t12, T13 t13, T14 t14, T15 t15, T16 t16);
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.janbols.validation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Starts the futures of {@link AsyncValidationRule}s, so what a rule throws before it returns its future
+ * fails that future rather than the caller
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+
+    /**
+     * Returns the future the given supplier starts, or a failed future when the supplier throws
+     */
+    static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> starter) {
+        try {
+            return starter.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+}
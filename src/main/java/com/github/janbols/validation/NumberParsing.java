@@ -0,0 +1,123 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+
+/**
+ * Parses numbers straight from a {@link CharSequence} into primitive validations, without boxing or
+ * creating intermediate strings.
+ * Integers are parsed like {@link com.google.common.primitives.Ints#tryParse(String)}: ascii digits with an optional
+ * leading minus sign.
+ * Only {@link #tryParseInt(CharSequence)} and its {@link #NOT_AN_INT} are public, for validators that check an
+ * integer without a rule.
+ */
+public final class NumberParsing {
+
+    private NumberParsing() {
+    }
+
+
+    /**
+     * Returned by {@link #tryParseInt(CharSequence)} for a value that is not an integer
+     */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    static IntValidation parseInt(CharSequence value, Field target) {
+        long result = tryParseInt(value);
+        return result != NOT_AN_INT ?
+                IntValidation.success((int) result) :
+                IntValidation.fail(Errors.of(target.value + " must be an integer."));
+    }
+
+    /**
+     * Parses the given value like {@link ValidationRule.OfInt#isInteger} without creating a validation or an error
+     * message, returning {@link #NOT_AN_INT} when it is not an integer
+     */
+    public static long tryParseInt(CharSequence value) {
+        if (value != null) {
+            int length = value.length();
+            boolean negative = length > 0 && value.charAt(0) == '-';
+            int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+            int multiplyLimit = limit / 10;
+            int result = 0;
+            int i = negative ? 1 : 0;
+            boolean valid = i < length;
+            for (; valid && i < length; i++) {
+                int digit = value.charAt(i) - '0';
+                valid = digit >= 0 && digit <= 9 && result >= multiplyLimit && result * 10 >= limit + digit;
+                result = result * 10 - digit;
+            }
+            if (valid)
+                return negative ? result : -result;
+        }
+        return NOT_AN_INT;
+    }
+
+    static LongValidation parseLong(CharSequence value, Field target) {
+        if (value != null) {
+            int length = value.length();
+            boolean negative = length > 0 && value.charAt(0) == '-';
+            long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            long multiplyLimit = limit / 10;
+            long result = 0;
+            int i = negative ? 1 : 0;
+            boolean valid = i < length;
+            for (; valid && i < length; i++) {
+                int digit = value.charAt(i) - '0';
+                valid = digit >= 0 && digit <= 9 && result >= multiplyLimit && result * 10 >= limit + digit;
+                result = result * 10 - digit;
+            }
+            if (valid)
+                return LongValidation.success(negative ? result : -result);
+        }
+        return LongValidation.fail(Errors.of(target.value + " must be an integer."));
+    }
+
+    static DoubleValidation parseDouble(CharSequence value, Field target) {
+        return isDecimal(value) ?
+                DoubleValidation.success(Double.parseDouble(value.toString())) :
+                DoubleValidation.fail(Errors.of(target.value + " must be a number."));
+    }
+
+    /**
+     * Checks for an optional sign, digits with an optional decimal point and an optional exponent
+     */
+    private static boolean isDecimal(CharSequence value) {
+        if (value == null)
+            return false;
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+'))
+            i++;
+        int digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0)
+            return false;
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+'))
+                i++;
+            int exponentDigits = 0;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0)
+                return false;
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
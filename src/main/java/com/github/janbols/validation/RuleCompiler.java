@@ -0,0 +1,196 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+import fj.F3;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Compiles a {@link ValidationRule} graph into a single tree of {@link MethodHandle}s.
+ * <p>
+ * Every {@link RuleNode} is translated into the matching method handle combinator, so the whole graph ends up
+ * as one method handle that the JIT treats as a constant and inlines from top to bottom, instead of going through
+ * the megamorphic <code>validate</code> calls of the nested rules.
+ * Rules that are not a {@link RuleNode} can't be looked into: they are kept as they are and called as a leaf.
+ * The compiled rule gives the same results as the graph it was compiled from.
+ */
+public final class RuleCompiler {
+
+    private static final MethodType RULE_TYPE = methodType(Validation.class, Object.class, Field.class);
+
+    private static final MethodHandle VALIDATE;
+    private static final MethodHandle MAP;
+    private static final MethodHandle APPLY;
+    private static final MethodHandle TEST;
+    private static final MethodHandle IS_SUCCESS;
+    private static final MethodHandle SUCCESS;
+    private static final MethodHandle COMBINE2;
+    private static final MethodHandle COMBINE3;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            VALIDATE = lookup.findVirtual(ValidationRule.class, "validate", RULE_TYPE);
+            MAP = lookup.findStatic(RuleCompiler.class, "map",
+                    methodType(Validation.class, Function.class, Validation.class));
+            APPLY = lookup.findVirtual(Function.class, "apply", methodType(Object.class, Object.class));
+            TEST = lookup.findVirtual(Predicate.class, "test", methodType(boolean.class, Object.class));
+            IS_SUCCESS = lookup.findVirtual(Validation.class, "isSuccess", methodType(boolean.class));
+            SUCCESS = lookup.findVirtual(Validation.class, "success", methodType(Object.class));
+            COMBINE2 = lookup.findStatic(RuleCompiler.class, "combine2",
+                    methodType(Validation.class, BiFunction.class, Validation.class, Validation.class));
+            COMBINE3 = lookup.findStatic(RuleCompiler.class, "combine3",
+                    methodType(Validation.class, F3.class, Validation.class, Validation.class, Validation.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private RuleCompiler() {
+    }
+
+
+    /**
+     * Compiles the given rule graph into a rule giving the same results
+     */
+    public static <A, B> ValidationRule<A, B> compile(ValidationRule<A, B> rule) {
+        if (rule instanceof Compiled)
+            return rule;
+        return new Compiled<>(rule, handleFor(rule));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MethodHandle handleFor(ValidationRule<?, ?> rule) {
+        if (rule instanceof RuleNode.Map) {
+            RuleNode.Map<?, ?, ?> node = (RuleNode.Map<?, ?, ?>) rule;
+            return MethodHandles.filterReturnValue(handleFor(node.rule), MAP.bindTo(node.f));
+        }
+        if (rule instanceof RuleNode.ContraMap) {
+            RuleNode.ContraMap<?, ?, ?> node = (RuleNode.ContraMap<?, ?, ?>) rule;
+            return MethodHandles.filterArguments(handleFor(node.rule), 0, APPLY.bindTo(node.f));
+        }
+        if (rule instanceof RuleNode.WithTarget) {
+            RuleNode.WithTarget<?, ?> node = (RuleNode.WithTarget<?, ?>) rule;
+            return MethodHandles.dropArguments(
+                    MethodHandles.insertArguments(handleFor(node.rule), 1, node.target),
+                    1, Field.class);
+        }
+        if (rule instanceof RuleNode.From) {
+            RuleNode.From<?, ?, ?> node = (RuleNode.From<?, ?, ?>) rule;
+            return MethodHandles.dropArguments(
+                    MethodHandles.filterArguments(
+                            MethodHandles.insertArguments(handleFor(node.rule), 1, node.target),
+                            0, APPLY.bindTo(node.extractor)),
+                    1, Field.class);
+        }
+        if (rule instanceof RuleNode.Chain) {
+            RuleNode.Chain<?, ?, ?> node = (RuleNode.Chain<?, ?, ?>) rule;
+            // (Validation first, Field) -> first succeeded ? second(first.success(), target) : first
+            MethodHandle continuation = MethodHandles.guardWithTest(
+                    IS_SUCCESS,
+                    MethodHandles.filterArguments(handleFor(node.second), 0, SUCCESS),
+                    MethodHandles.dropArguments(MethodHandles.identity(Validation.class), 1, Field.class));
+            return MethodHandles.foldArguments(
+                    MethodHandles.dropArguments(continuation, 1, Object.class),
+                    handleFor(node.first));
+        }
+        if (rule instanceof RuleNode.Combine2) {
+            RuleNode.Combine2<?, ?, ?, ?> node = (RuleNode.Combine2<?, ?, ?, ?>) rule;
+            MethodHandle branches = COMBINE2.bindTo(node.composeResult);
+            branches = MethodHandles.collectArguments(branches, 1, handleFor(node.second));
+            branches = MethodHandles.collectArguments(branches, 0, handleFor(node.first));
+            return MethodHandles.permuteArguments(branches, RULE_TYPE, 0, 1, 0, 1);
+        }
+        if (rule instanceof RuleNode.Combine3) {
+            RuleNode.Combine3<?, ?, ?, ?, ?> node = (RuleNode.Combine3<?, ?, ?, ?, ?>) rule;
+            MethodHandle branches = COMBINE3.bindTo(node.composeResult);
+            branches = MethodHandles.collectArguments(branches, 2, handleFor(node.third));
+            branches = MethodHandles.collectArguments(branches, 1, handleFor(node.second));
+            branches = MethodHandles.collectArguments(branches, 0, handleFor(node.first));
+            return MethodHandles.permuteArguments(branches, RULE_TYPE, 0, 1, 0, 1, 0, 1);
+        }
+        if (rule instanceof RuleNode.CombineN) {
+            // the node combines the results of its compiled branches with its own typed function
+            RuleNode.CombineN<Object, ?> node = (RuleNode.CombineN<Object, ?>) rule;
+            List<ValidationRule<Object, ?>> branches = new ArrayList<>(node.branches.size());
+            for (ValidationRule<Object, ?> branch : node.branches) {
+                branches.add(compile(branch));
+            }
+            return VALIDATE.bindTo(node.withBranches(branches));
+        }
+        if (rule instanceof RuleNode.Condition) {
+            RuleNode.Condition<?, ?> node = (RuleNode.Condition<?, ?>) rule;
+            return MethodHandles.guardWithTest(
+                    TEST.bindTo(node.tester),
+                    handleFor(node.ruleWhenTrue),
+                    handleFor(node.ruleWhenFalse));
+        }
+        if (rule instanceof RuleNode.Costed)
+            return handleFor(((RuleNode.Costed<?, ?>) rule).rule);
+        if (rule instanceof RuleNode.ParallelCombine) {
+            // the branches run on other threads, so they are compiled separately
+            RuleNode.ParallelCombine<Object, ?> node = (RuleNode.ParallelCombine<Object, ?>) rule;
+            List<ValidationRule<Object, ?>> branches = new ArrayList<>();
+            for (ValidationRule<Object, ?> branch : node.branches) {
+                branches.add(compile(branch));
+            }
+            return VALIDATE.bindTo(node.withBranches(branches));
+        }
+        if (rule instanceof Compiled)
+            return ((Compiled<?, ?>) rule).handle;
+        return VALIDATE.bindTo(rule);
+    }
+
+    private static <B, C> Validation<List<String>, C> map(Function<B, C> f, Validation<List<String>, B> validation) {
+        return validation.map(f);
+    }
+
+    private static <B, C, RESULT> Validation<List<String>, RESULT> combine2(
+            BiFunction<B, C, RESULT> composeResult,
+            Validation<List<String>, B> first, Validation<List<String>, C> second) {
+        return Validation.combine(first, second, ValidationRule.combineErrors, composeResult);
+    }
+
+    private static <B, C, D, RESULT> Validation<List<String>, RESULT> combine3(
+            F3<B, C, D, RESULT> composeResult,
+            Validation<List<String>, B> first, Validation<List<String>, C> second, Validation<List<String>, D> third) {
+        return Validation.combine(first, second, third, ValidationRule.combineErrors, composeResult);
+    }
+
+
+    static final class Compiled<A, B> implements ValidationRule<A, B> {
+        final ValidationRule<A, B> source;
+        private final MethodHandle handle;
+
+        private Compiled(ValidationRule<A, B> source, MethodHandle handle) {
+            this.source = source;
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Validation<List<String>, B> validate(A value, Field target) {
+            try {
+                return (Validation<List<String>, B>) (Validation) handle.invokeExact((Object) value, target);
+            } catch (Throwable t) {
+                throwIfUnchecked(t);
+                throw new IllegalStateException(t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "compiled " + source;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.janbols.validation;
+
+/**
+ * Estimates what a {@link ValidationRule} graph costs to validate, to decide which branches of a
+ * {@link RuleNode.ParallelCombine} are worth running on another thread.
+ * <p>
+ * A built-in check costs 1 and combinators add up the cost of the rules they are made of.
+ * A rule that can't be looked into, like a lambda calling a repository, costs {@link #UNKNOWN} unless it declares
+ * its cost with {@link ValidationRule#withCost(int)}.
+ */
+public final class RuleCost {
+
+    /**
+     * The cost of a rule that can't be looked into
+     */
+    public static final int UNKNOWN = 1000;
+
+    /**
+     * The cost from which a branch is run on another thread by default.
+     * Forking and joining a task costs about as much as a hundred checks on a value in memory.
+     */
+    public static final int FORK_THRESHOLD = 100;
+
+    private RuleCost() {
+    }
+
+
+    /**
+     * Estimates the cost of the given rule graph
+     */
+    public static int of(ValidationRule<?, ?> rule) {
+        if (rule instanceof RuleNode.Costed)
+            return ((RuleNode.Costed<?, ?>) rule).cost;
+        if (rule instanceof RuleNode.Map)
+            return of(((RuleNode.Map<?, ?, ?>) rule).rule);
+        if (rule instanceof RuleNode.ContraMap)
+            return of(((RuleNode.ContraMap<?, ?, ?>) rule).rule);
+        if (rule instanceof RuleNode.WithTarget)
+            return of(((RuleNode.WithTarget<?, ?>) rule).rule);
+        if (rule instanceof RuleNode.From)
+            return of(((RuleNode.From<?, ?, ?>) rule).rule);
+        if (rule instanceof RuleNode.Chain) {
+            RuleNode.Chain<?, ?, ?> node = (RuleNode.Chain<?, ?, ?>) rule;
+            return add(of(node.first), of(node.second));
+        }
+        if (rule instanceof RuleNode.Combine2) {
+            RuleNode.Combine2<?, ?, ?, ?> node = (RuleNode.Combine2<?, ?, ?, ?>) rule;
+            return add(of(node.first), of(node.second));
+        }
+        if (rule instanceof RuleNode.Combine3) {
+            RuleNode.Combine3<?, ?, ?, ?, ?> node = (RuleNode.Combine3<?, ?, ?, ?, ?>) rule;
+            return add(add(of(node.first), of(node.second)), of(node.third));
+        }
+        if (rule instanceof RuleNode.CombineN) {
+            int cost = 0;
+            for (ValidationRule<?, ?> branch : ((RuleNode.CombineN<?, ?>) rule).branches) {
+                cost = add(cost, of(branch));
+            }
+            return cost;
+        }
+        if (rule instanceof RuleNode.ParallelCombine) {
+            int cost = 0;
+            for (ValidationRule<?, ?> branch : ((RuleNode.ParallelCombine<?, ?>) rule).branches) {
+                cost = add(cost, of(branch));
+            }
+            return cost;
+        }
+        if (rule instanceof RuleNode.Condition) {
+            RuleNode.Condition<?, ?> node = (RuleNode.Condition<?, ?>) rule;
+            return Math.max(of(node.ruleWhenTrue), of(node.ruleWhenFalse));
+        }
+        if (rule instanceof RuleNode)
+            return 1;
+        return UNKNOWN;
+    }
+
+    private static int add(int cost, int other) {
+        long sum = (long) cost + other;
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+}
@@ -0,0 +1,1739 @@
+package com.github.janbols.validation;
+
+import com.github.janbols.domain.PersonForm.Field;
+import com.google.common.primitives.Ints;
+import fj.F3;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * The nodes a {@link ValidationRule} graph is made of when it is composed with the combinators of {@link ValidationRule}.
+ * Unlike lambdas, these nodes can be inspected, e.g. by the {@link RuleCompiler}.
+ * A rule that is not a {@link RuleNode} is a leaf whose implementation can't be looked into.
+ *
+ * @param <A> The input type to validate
+ * @param <B> The resulting validated value
+ */
+public abstract class RuleNode<A, B> implements ValidationRule<A, B> {
+
+    private RuleNode() {
+    }
+
+
+    /**
+     * Checks that the input is not null
+     */
+    public static final class NotNull<A> extends RuleNode<A, A> {
+
+        NotNull() {
+        }
+
+        @Override
+        public Validation<List<String>, A> validate(A value, Field target) {
+            return Validation.condition(value != null,
+                    () -> Errors.of(target.value + " can not be null."),
+                    value);
+        }
+    }
+
+    /**
+     * Checks that the input String is not blank
+     */
+    public static final class Required extends RuleNode<String, String> {
+
+        Required() {
+        }
+
+        @Override
+        public Validation<List<String>, String> validate(String value, Field target) {
+            return Validation.condition(isNotBlank(value),
+                    () -> Errors.of(target.value + " can not be empty."),
+                    value);
+        }
+    }
+
+    /**
+     * Validates the maximum length of a String input
+     */
+    public static final class MaxLength extends RuleNode<String, String> {
+        public final int max;
+
+        MaxLength(int max) {
+            this.max = max;
+        }
+
+        @Override
+        public Validation<List<String>, String> validate(String value, Field target) {
+            return Validation.condition(value.length() <= max,
+                    () -> Errors.of(target.value + " has exceed max length of " + max + " characters."),
+                    value);
+        }
+    }
+
+    /**
+     * Checks that the input string contains the given searchString
+     */
+    public static final class Containing extends RuleNode<String, String> {
+        public final String searchString;
+
+        Containing(String searchString) {
+            this.searchString = searchString;
+        }
+
+        @Override
+        public Validation<List<String>, String> validate(String value, Field target) {
+            return Validation.condition(StringUtils.contains(value, searchString),
+                    () -> Errors.of(target.value + " should contain " + searchString + "."),
+                    value);
+        }
+    }
+
+    /**
+     * Checks that the string input is an integer
+     */
+    public static final class IsInteger extends RuleNode<String, Integer> {
+
+        IsInteger() {
+        }
+
+        @Override
+        public Validation<List<String>, Integer> validate(String value, Field target) {
+            Integer result = Ints.tryParse(value);
+            return Validation.condition(result != null,
+                    () -> Errors.of(target.value + " must be an integer."),
+                    result);
+        }
+    }
+
+    /**
+     * Checks that the input integer is between the given min and max value
+     */
+    public static final class Between extends RuleNode<Integer, Integer> {
+        public final int min;
+        public final int max;
+
+        Between(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public Validation<List<String>, Integer> validate(Integer value, Field target) {
+            return Validation.condition(value >= min && value <= max,
+                    () -> Errors.of(target.value + " must be between " + min + " and " + max + "."),
+                    value);
+        }
+    }
+
+
+    /**
+     * Maps the successful output of a rule
+     */
+    public static final class Map<A, B, C> extends RuleNode<A, C> {
+        public final ValidationRule<A, B> rule;
+        public final Function<B, C> f;
+
+        Map(ValidationRule<A, B> rule, Function<B, C> f) {
+            this.rule = rule;
+            this.f = f;
+        }
+
+        @Override
+        public Validation<List<String>, C> validate(A value, Field target) {
+            return rule.validate(value, target).map(f);
+        }
+    }
+
+    /**
+     * Maps the input of a rule
+     */
+    public static final class ContraMap<A, B, C> extends RuleNode<C, B> {
+        public final ValidationRule<A, B> rule;
+        public final Function<C, A> f;
+
+        ContraMap(ValidationRule<A, B> rule, Function<C, A> f) {
+            this.rule = rule;
+            this.f = f;
+        }
+
+        @Override
+        public Validation<List<String>, B> validate(C value, Field target) {
+            return rule.validate(f.apply(value), target);
+        }
+    }
+
+    /**
+     * Validates the successful output of the first rule with the second rule
+     */
+    public static final class Chain<A, B, C> extends RuleNode<A, C> {
+        public final ValidationRule<A, B> first;
+        public final ValidationRule<B, C> second;
+
+        Chain(ValidationRule<A, B> first, ValidationRule<B, C> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public Validation<List<String>, C> validate(A value, Field target) {
+            return first.validate(value, target)
+                    .chain(firstResult -> second.validate(firstResult, target));
+        }
+    }
+
+    /**
+     * Accumulates the errors of two rules validating the same input, or composes both results
+     */
+    public static final class Combine2<A, B, C, RESULT> extends RuleNode<A, RESULT> {
+        public final ValidationRule<A, B> first;
+        public final ValidationRule<A, C> second;
+        public final BiFunction<B, C, RESULT> composeResult;
+
+        Combine2(ValidationRule<A, B> first, ValidationRule<A, C> second, BiFunction<B, C, RESULT> composeResult) {
+            this.first = first;
+            this.second = second;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    first.validate(value, target),
+                    second.validate(value, target),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of three rules validating the same input, or composes all three results
+     */
+    public static final class Combine3<A, B, C, D, RESULT> extends RuleNode<A, RESULT> {
+        public final ValidationRule<A, B> first;
+        public final ValidationRule<A, C> second;
+        public final ValidationRule<A, D> third;
+        public final F3<B, C, D, RESULT> composeResult;
+
+        Combine3(ValidationRule<A, B> first, ValidationRule<A, C> second, ValidationRule<A, D> third,
+                 F3<B, C, D, RESULT> composeResult) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    first.validate(value, target),
+                    second.validate(value, target),
+                    third.validate(value, target),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of any number of rules validating the same input, or composes all their results.
+     * Made by the combines of 4 to 16 rules, which have a node for each number of rules, and by
+     * {@link ValidationRule#combineAll}.
+     */
+    public abstract static class CombineN<A, RESULT> extends RuleNode<A, RESULT> {
+        public final List<ValidationRule<A, ?>> branches;
+
+        private CombineN(List<ValidationRule<A, ?>> branches) {
+            this.branches = branches;
+        }
+
+        /**
+         * The same combine with other branches, e.g. optimized ones
+         */
+        public abstract CombineN<A, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches);
+
+        /**
+         * Combines the results of the branches, in the same order as the branches, when they were validated elsewhere
+         */
+        abstract Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results);
+
+        @SuppressWarnings("unchecked")
+        static <A, T> ValidationRule<A, T> branch(List<ValidationRule<A, ?>> branches, int index) {
+            return (ValidationRule<A, T>) branches.get(index);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Validation<List<String>, T> result(List<Validation<List<String>, ?>> results, int index) {
+            return (Validation<List<String>, T>) results.get(index);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 4 rules validating the same input, or composes all their results
+     */
+    public static final class Combine4<A, T1, T2, T3, T4, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final Functions.F4<T1, T2, T3, T4, RESULT> composeResult;
+
+        Combine4(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 Functions.F4<T1, T2, T3, T4, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine4<A, T1, T2, T3, T4, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine4<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 5 rules validating the same input, or composes all their results
+     */
+    public static final class Combine5<A, T1, T2, T3, T4, T5, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final Functions.F5<T1, T2, T3, T4, T5, RESULT> composeResult;
+
+        Combine5(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 Functions.F5<T1, T2, T3, T4, T5, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine5<A, T1, T2, T3, T4, T5, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine5<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 6 rules validating the same input, or composes all their results
+     */
+    public static final class Combine6<A, T1, T2, T3, T4, T5, T6, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final Functions.F6<T1, T2, T3, T4, T5, T6, RESULT> composeResult;
+
+        Combine6(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 Functions.F6<T1, T2, T3, T4, T5, T6, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine6<A, T1, T2, T3, T4, T5, T6, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine6<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 7 rules validating the same input, or composes all their results
+     */
+    public static final class Combine7<A, T1, T2, T3, T4, T5, T6, T7, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final Functions.F7<T1, T2, T3, T4, T5, T6, T7, RESULT> composeResult;
+
+        Combine7(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 Functions.F7<T1, T2, T3, T4, T5, T6, T7, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine7<A, T1, T2, T3, T4, T5, T6, T7, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine7<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 8 rules validating the same input, or composes all their results
+     */
+    public static final class Combine8<A, T1, T2, T3, T4, T5, T6, T7, T8, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final Functions.F8<T1, T2, T3, T4, T5, T6, T7, T8, RESULT> composeResult;
+
+        Combine8(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 Functions.F8<T1, T2, T3, T4, T5, T6, T7, T8, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine8<A, T1, T2, T3, T4, T5, T6, T7, T8, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine8<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 9 rules validating the same input, or composes all their results
+     */
+    public static final class Combine9<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final Functions.F9<T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> composeResult;
+
+        Combine9(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 Functions.F9<T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine9<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine9<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 10 rules validating the same input, or composes all their results
+     */
+    public static final class Combine10<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final Functions.F10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> composeResult;
+
+        Combine10(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 Functions.F10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine10<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine10<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 11 rules validating the same input, or composes all their results
+     */
+    public static final class Combine11<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final ValidationRule<A, T11> r11;
+        public final Functions.F11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> composeResult;
+
+        Combine11(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 ValidationRule<A, T11> r11,
+                 Functions.F11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.r11 = r11;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine11<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine11<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    branch(newBranches, 10),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    r11.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    CombineN.<T11>result(results, 10),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 12 rules validating the same input, or composes all their results
+     */
+    public static final class Combine12<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final ValidationRule<A, T11> r11;
+        public final ValidationRule<A, T12> r12;
+        public final Functions.F12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> composeResult;
+
+        Combine12(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 ValidationRule<A, T11> r11,
+                 ValidationRule<A, T12> r12,
+                 Functions.F12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.r11 = r11;
+            this.r12 = r12;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine12<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine12<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    branch(newBranches, 10),
+                    branch(newBranches, 11),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    r11.validate(value, target),
+                    r12.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    CombineN.<T11>result(results, 10),
+                    CombineN.<T12>result(results, 11),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 13 rules validating the same input, or composes all their results
+     */
+    public static final class Combine13<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final ValidationRule<A, T11> r11;
+        public final ValidationRule<A, T12> r12;
+        public final ValidationRule<A, T13> r13;
+        public final Functions.F13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> composeResult;
+
+        Combine13(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 ValidationRule<A, T11> r11,
+                 ValidationRule<A, T12> r12,
+                 ValidationRule<A, T13> r13,
+                 Functions.F13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.r11 = r11;
+            this.r12 = r12;
+            this.r13 = r13;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine13<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine13<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    branch(newBranches, 10),
+                    branch(newBranches, 11),
+                    branch(newBranches, 12),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    r11.validate(value, target),
+                    r12.validate(value, target),
+                    r13.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    CombineN.<T11>result(results, 10),
+                    CombineN.<T12>result(results, 11),
+                    CombineN.<T13>result(results, 12),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 14 rules validating the same input, or composes all their results
+     */
+    public static final class Combine14<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final ValidationRule<A, T11> r11;
+        public final ValidationRule<A, T12> r12;
+        public final ValidationRule<A, T13> r13;
+        public final ValidationRule<A, T14> r14;
+        public final Functions.F14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> composeResult;
+
+        Combine14(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 ValidationRule<A, T11> r11,
+                 ValidationRule<A, T12> r12,
+                 ValidationRule<A, T13> r13,
+                 ValidationRule<A, T14> r14,
+                 Functions.F14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, r14));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.r11 = r11;
+            this.r12 = r12;
+            this.r13 = r13;
+            this.r14 = r14;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine14<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine14<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    branch(newBranches, 10),
+                    branch(newBranches, 11),
+                    branch(newBranches, 12),
+                    branch(newBranches, 13),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    r11.validate(value, target),
+                    r12.validate(value, target),
+                    r13.validate(value, target),
+                    r14.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    CombineN.<T11>result(results, 10),
+                    CombineN.<T12>result(results, 11),
+                    CombineN.<T13>result(results, 12),
+                    CombineN.<T14>result(results, 13),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 15 rules validating the same input, or composes all their results
+     */
+    public static final class Combine15<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final ValidationRule<A, T11> r11;
+        public final ValidationRule<A, T12> r12;
+        public final ValidationRule<A, T13> r13;
+        public final ValidationRule<A, T14> r14;
+        public final ValidationRule<A, T15> r15;
+        public final Functions.F15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> composeResult;
+
+        Combine15(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 ValidationRule<A, T11> r11,
+                 ValidationRule<A, T12> r12,
+                 ValidationRule<A, T13> r13,
+                 ValidationRule<A, T14> r14,
+                 ValidationRule<A, T15> r15,
+                 Functions.F15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, r14, r15));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.r11 = r11;
+            this.r12 = r12;
+            this.r13 = r13;
+            this.r14 = r14;
+            this.r15 = r15;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine15<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine15<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    branch(newBranches, 10),
+                    branch(newBranches, 11),
+                    branch(newBranches, 12),
+                    branch(newBranches, 13),
+                    branch(newBranches, 14),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    r11.validate(value, target),
+                    r12.validate(value, target),
+                    r13.validate(value, target),
+                    r14.validate(value, target),
+                    r15.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    CombineN.<T11>result(results, 10),
+                    CombineN.<T12>result(results, 11),
+                    CombineN.<T13>result(results, 12),
+                    CombineN.<T14>result(results, 13),
+                    CombineN.<T15>result(results, 14),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of 16 rules validating the same input, or composes all their results
+     */
+    public static final class Combine16<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> extends CombineN<A, RESULT> {
+        public final ValidationRule<A, T1> r1;
+        public final ValidationRule<A, T2> r2;
+        public final ValidationRule<A, T3> r3;
+        public final ValidationRule<A, T4> r4;
+        public final ValidationRule<A, T5> r5;
+        public final ValidationRule<A, T6> r6;
+        public final ValidationRule<A, T7> r7;
+        public final ValidationRule<A, T8> r8;
+        public final ValidationRule<A, T9> r9;
+        public final ValidationRule<A, T10> r10;
+        public final ValidationRule<A, T11> r11;
+        public final ValidationRule<A, T12> r12;
+        public final ValidationRule<A, T13> r13;
+        public final ValidationRule<A, T14> r14;
+        public final ValidationRule<A, T15> r15;
+        public final ValidationRule<A, T16> r16;
+        public final Functions.F16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> composeResult;
+
+        Combine16(ValidationRule<A, T1> r1,
+                 ValidationRule<A, T2> r2,
+                 ValidationRule<A, T3> r3,
+                 ValidationRule<A, T4> r4,
+                 ValidationRule<A, T5> r5,
+                 ValidationRule<A, T6> r6,
+                 ValidationRule<A, T7> r7,
+                 ValidationRule<A, T8> r8,
+                 ValidationRule<A, T9> r9,
+                 ValidationRule<A, T10> r10,
+                 ValidationRule<A, T11> r11,
+                 ValidationRule<A, T12> r12,
+                 ValidationRule<A, T13> r13,
+                 ValidationRule<A, T14> r14,
+                 ValidationRule<A, T15> r15,
+                 ValidationRule<A, T16> r16,
+                 Functions.F16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> composeResult) {
+            super(Arrays.asList(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, r14, r15, r16));
+            this.r1 = r1;
+            this.r2 = r2;
+            this.r3 = r3;
+            this.r4 = r4;
+            this.r5 = r5;
+            this.r6 = r6;
+            this.r7 = r7;
+            this.r8 = r8;
+            this.r9 = r9;
+            this.r10 = r10;
+            this.r11 = r11;
+            this.r12 = r12;
+            this.r13 = r13;
+            this.r14 = r14;
+            this.r15 = r15;
+            this.r16 = r16;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        public Combine16<A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new Combine16<>(
+                    branch(newBranches, 0),
+                    branch(newBranches, 1),
+                    branch(newBranches, 2),
+                    branch(newBranches, 3),
+                    branch(newBranches, 4),
+                    branch(newBranches, 5),
+                    branch(newBranches, 6),
+                    branch(newBranches, 7),
+                    branch(newBranches, 8),
+                    branch(newBranches, 9),
+                    branch(newBranches, 10),
+                    branch(newBranches, 11),
+                    branch(newBranches, 12),
+                    branch(newBranches, 13),
+                    branch(newBranches, 14),
+                    branch(newBranches, 15),
+                    composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            return Validation.combine(
+                    r1.validate(value, target),
+                    r2.validate(value, target),
+                    r3.validate(value, target),
+                    r4.validate(value, target),
+                    r5.validate(value, target),
+                    r6.validate(value, target),
+                    r7.validate(value, target),
+                    r8.validate(value, target),
+                    r9.validate(value, target),
+                    r10.validate(value, target),
+                    r11.validate(value, target),
+                    r12.validate(value, target),
+                    r13.validate(value, target),
+                    r14.validate(value, target),
+                    r15.validate(value, target),
+                    r16.validate(value, target),
+                    combineErrors, composeResult);
+        }
+
+        @Override
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combine(
+                    CombineN.<T1>result(results, 0),
+                    CombineN.<T2>result(results, 1),
+                    CombineN.<T3>result(results, 2),
+                    CombineN.<T4>result(results, 3),
+                    CombineN.<T5>result(results, 4),
+                    CombineN.<T6>result(results, 5),
+                    CombineN.<T7>result(results, 6),
+                    CombineN.<T8>result(results, 7),
+                    CombineN.<T9>result(results, 8),
+                    CombineN.<T10>result(results, 9),
+                    CombineN.<T11>result(results, 10),
+                    CombineN.<T12>result(results, 11),
+                    CombineN.<T13>result(results, 12),
+                    CombineN.<T14>result(results, 13),
+                    CombineN.<T15>result(results, 14),
+                    CombineN.<T16>result(results, 15),
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Accumulates the errors of a list of rules validating the same input, or composes the list of all their results
+     */
+    public static final class CombineAll<A, T, RESULT> extends CombineN<A, RESULT> {
+        public final List<ValidationRule<A, ? extends T>> rules;
+        public final Function<List<T>, RESULT> composeResult;
+
+        CombineAll(List<ValidationRule<A, ? extends T>> rules, Function<List<T>, RESULT> composeResult) {
+            super(Collections.unmodifiableList(rules));
+            this.rules = rules;
+            this.composeResult = composeResult;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public CombineAll<A, T, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new CombineAll<>((List<ValidationRule<A, ? extends T>>) (List<?>) newBranches, composeResult);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            List<Validation<List<String>, ? extends T>> results = new ArrayList<>(rules.size());
+            for (ValidationRule<A, ? extends T> rule : rules) {
+                results.add(rule.validate(value, target));
+            }
+            return Validation.combineAll(results, combineErrors, composeResult);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Validation<List<String>, RESULT> combine(List<Validation<List<String>, ?>> results) {
+            return Validation.combineAll((List<Validation<List<String>, ? extends T>>) (List<?>) results,
+                    combineErrors, composeResult);
+        }
+    }
+
+    /**
+     * Fixes the target of a rule
+     */
+    public static final class WithTarget<A, B> extends RuleNode<A, B> {
+        public final ValidationRule<A, B> rule;
+        public final Field target;
+
+        WithTarget(ValidationRule<A, B> rule, Field target) {
+            this.rule = rule;
+            this.target = target;
+        }
+
+        @Override
+        public Validation<List<String>, B> validate(A value, Field ignored) {
+            return rule.validate(value, target);
+        }
+    }
+
+    /**
+     * Validates a value extracted from the input, for a fixed target
+     */
+    public static final class From<FROM, A, B> extends RuleNode<FROM, B> {
+        public final ValidationRule<A, B> rule;
+        public final Function<FROM, A> extractor;
+        public final Field target;
+
+        From(ValidationRule<A, B> rule, Function<FROM, A> extractor, Field target) {
+            this.rule = rule;
+            this.extractor = extractor;
+            this.target = target;
+        }
+
+        @Override
+        public Validation<List<String>, B> validate(FROM value, Field ignored) {
+            return rule.validate(extractor.apply(value), target);
+        }
+    }
+
+    /**
+     * Executes one of two rules based on the outcome of a test
+     */
+    public static final class Condition<A, B> extends RuleNode<A, B> {
+        public final Predicate<A> tester;
+        public final ValidationRule<A, B> ruleWhenTrue;
+        public final ValidationRule<A, B> ruleWhenFalse;
+
+        Condition(Predicate<A> tester, ValidationRule<A, B> ruleWhenTrue, ValidationRule<A, B> ruleWhenFalse) {
+            this.tester = tester;
+            this.ruleWhenTrue = ruleWhenTrue;
+            this.ruleWhenFalse = ruleWhenFalse;
+        }
+
+        @Override
+        public Validation<List<String>, B> validate(A value, Field target) {
+            return tester.test(value) ?
+                    ruleWhenTrue.validate(value, target) :
+                    ruleWhenFalse.validate(value, target);
+        }
+    }
+
+    /**
+     * Declares the cost of a rule for {@link RuleCost}
+     */
+    public static final class Costed<A, B> extends RuleNode<A, B> {
+        public final ValidationRule<A, B> rule;
+        public final int cost;
+
+        Costed(ValidationRule<A, B> rule, int cost) {
+            this.rule = rule;
+            this.cost = cost;
+        }
+
+        @Override
+        public Validation<List<String>, B> validate(A value, Field target) {
+            return rule.validate(value, target);
+        }
+    }
+
+    /**
+     * Accumulates the errors of rules validating the same input like a combine, running the branches whose
+     * {@link RuleCost} reaches the fork threshold at the same time on a {@link ForkJoinPool}.
+     * The other branches run on the calling thread, as does the last expensive one while the others are forked.
+     * All branches are evaluated, whatever the {@link EvaluationMode}.
+     */
+    public static final class ParallelCombine<A, RESULT> extends RuleNode<A, RESULT> {
+        public final ForkJoinPool pool;
+        public final int forkThreshold;
+        public final List<ValidationRule<A, ?>> branches;
+        public final Function<List<Validation<List<String>, ?>>, Validation<List<String>, RESULT>> combine;
+        private final boolean[] forked;
+
+        ParallelCombine(ForkJoinPool pool, int forkThreshold, List<ValidationRule<A, ?>> branches,
+                        Function<List<Validation<List<String>, ?>>, Validation<List<String>, RESULT>> combine) {
+            this.pool = pool;
+            this.forkThreshold = forkThreshold;
+            this.branches = branches;
+            this.combine = combine;
+            this.forked = new boolean[branches.size()];
+            int lastExpensive = -1;
+            for (int i = 0; i < branches.size(); i++) {
+                if (RuleCost.of(branches.get(i)) >= forkThreshold) {
+                    if (lastExpensive >= 0)
+                        forked[lastExpensive] = true;
+                    lastExpensive = i;
+                }
+            }
+        }
+
+        /**
+         * The same combine with other branches, e.g. optimized ones
+         */
+        public ParallelCombine<A, RESULT> withBranches(List<ValidationRule<A, ?>> newBranches) {
+            return new ParallelCombine<>(pool, forkThreshold, newBranches, combine);
+        }
+
+        @Override
+        public Validation<List<String>, RESULT> validate(A value, Field target) {
+            int size = branches.size();
+            List<ForkJoinTask<? extends Validation<List<String>, ?>>> tasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ValidationRule<A, ?> branch = branches.get(i);
+                tasks.add(forked[i] ? pool.submit(() -> validateBlocking(branch, value, target)) : null);
+            }
+
+            List<Validation<List<String>, ?>> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                results.add(forked[i] ? null : branches.get(i).validate(value, target));
+            }
+            for (int i = 0; i < size; i++) {
+                if (forked[i])
+                    results.set(i, tasks.get(i).join());
+            }
+            return combine.apply(results);
+        }
+
+        /**
+         * Validates an expensive branch as a {@link ForkJoinPool.ManagedBlocker}, so the pool can start another
+         * thread while the branch blocks, e.g. on a lookup
+         */
+        private static <A> Validation<List<String>, ?> validateBlocking(ValidationRule<A, ?> branch, A value, Field target)
+                throws InterruptedException {
+            BlockingBranch<A> blocker = new BlockingBranch<>(branch, value, target);
+            ForkJoinPool.managedBlock(blocker);
+            return blocker.result;
+        }
+
+        private static final class BlockingBranch<A> implements ForkJoinPool.ManagedBlocker {
+            private final ValidationRule<A, ?> branch;
+            private final A value;
+            private final Field target;
+            private Validation<List<String>, ?> result;
+
+            BlockingBranch(ValidationRule<A, ?> branch, A value, Field target) {
+                this.branch = branch;
+                this.value = value;
+                this.target = target;
+            }
+
+            @Override
+            public boolean block() {
+                result = branch.validate(value, target);
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return result != null;
+            }
+        }
+    }
+
+    /**
+     * Runs {@link Required}, {@link MaxLength} and {@link Containing} checks on the same string in a single scan.
+     * The checks are grouped in stages: the checks of one stage accumulate their errors like a combine,
+     * and a stage only runs when all checks of the stages before it passed, like a chain.
+     * Created by the {@link RuleOptimizer} out of the rule it fused, which is still used for <code>null</code> input.
+     */
+    public static final class StringChecks<B> extends RuleNode<String, B> {
+        public final List<List<RuleNode<String, String>>> stages;
+        /**
+         * Creates the result out of the checked string, or <code>null</code> when the result is the string itself
+         */
+        public final Function<String, B> result;
+        public final ValidationRule<String, B> unfused;
+        private final char[] searchChars;
+
+        StringChecks(List<List<RuleNode<String, String>>> stages, Function<String, B> result, ValidationRule<String, B> unfused) {
+            this.stages = stages;
+            this.result = result;
+            this.unfused = unfused;
+            this.searchChars = stages.stream()
+                    .flatMap(List::stream)
+                    .filter(check -> check instanceof Containing)
+                    .map(check -> ((Containing) check).searchString)
+                    .filter(searchString -> searchString != null && searchString.length() == 1)
+                    .map(searchString -> searchString.charAt(0))
+                    .distinct()
+                    .limit(Long.SIZE)
+                    .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+                    .toString().toCharArray();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Validation<List<String>, B> validate(String value, Field target) {
+            if (value == null)
+                return unfused.validate(null, target);
+
+            boolean blank = true;
+            long found = 0L;
+            for (int i = 0, length = value.length(); i < length; i++) {
+                char c = value.charAt(i);
+                blank = blank && Character.isWhitespace(c);
+                for (int j = 0; j < searchChars.length; j++) {
+                    if (c == searchChars[j])
+                        found |= 1L << j;
+                }
+            }
+
+            for (List<RuleNode<String, String>> stage : stages) {
+                List<String> errors = null;
+                for (RuleNode<String, String> check : stage) {
+                    if (!passes(check, value, blank, found)) {
+                        List<String> checkErrors = check.validate(value, target).fail();
+                        errors = errors == null ? checkErrors : combineErrors.apply(errors, checkErrors);
+                    }
+                }
+                if (errors != null)
+                    return Validation.fail(errors);
+            }
+            return Validation.success(result == null ? (B) value : result.apply(value));
+        }
+
+        private boolean passes(RuleNode<String, String> check, String value, boolean blank, long found) {
+            if (check instanceof Required)
+                return !blank;
+            if (check instanceof MaxLength)
+                return value.length() <= ((MaxLength) check).max;
+            String searchString = ((Containing) check).searchString;
+            if (searchString != null && searchString.length() == 1) {
+                int index = indexOf(searchChars, searchString.charAt(0));
+                if (index >= 0)
+                    return (found & (1L << index)) != 0;
+            }
+            return StringUtils.contains(value, searchString);
+        }
+
+        private static int indexOf(char[] chars, char c) {
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] == c)
+                    return i;
+            }
+            return -1;
+        }
+    }
+}
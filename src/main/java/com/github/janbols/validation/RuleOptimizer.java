@@ -0,0 +1,188 @@
+package com.github.janbols.validation;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Rewrites a {@link ValidationRule} graph into one that gives the same results with less work:
+ * <ul>
+ * <li>{@link RuleNode.Required}, {@link RuleNode.MaxLength} and {@link RuleNode.Containing} checks that are chained
+ * or combined on the same string are fused into one {@link RuleNode.StringChecks} that scans the string once.</li>
+ * <li>Checks that can't fail because an earlier check in the chain already passed are removed, e.g. a second
+ * <code>maxLength</code> with a larger maximum.</li>
+ * <li>{@link RuleNode.NotNull} chained after any other rule is removed, as a successful validation never holds
+ * <code>null</code>.</li>
+ * </ul>
+ * Rules that are not a {@link RuleNode} are kept as they are.
+ */
+public final class RuleOptimizer {
+
+    private RuleOptimizer() {
+    }
+
+
+    /**
+     * Optimizes the given rule graph into one giving the same results
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B> ValidationRule<A, B> optimize(ValidationRule<A, B> rule) {
+        if (rule instanceof RuleNode.Map)
+            return optimizeMap((RuleNode.Map<A, ?, B>) rule);
+        if (rule instanceof RuleNode.ContraMap)
+            return optimizeContraMap((RuleNode.ContraMap<?, B, A>) rule);
+        if (rule instanceof RuleNode.WithTarget) {
+            RuleNode.WithTarget<A, B> node = (RuleNode.WithTarget<A, B>) rule;
+            return new RuleNode.WithTarget<>(optimize(node.rule), node.target);
+        }
+        if (rule instanceof RuleNode.From)
+            return optimizeFrom((RuleNode.From<A, ?, B>) rule);
+        if (rule instanceof RuleNode.Condition) {
+            RuleNode.Condition<A, B> node = (RuleNode.Condition<A, B>) rule;
+            return new RuleNode.Condition<>(node.tester, optimize(node.ruleWhenTrue), optimize(node.ruleWhenFalse));
+        }
+        if (rule instanceof RuleNode.Combine3)
+            return optimizeCombine3((RuleNode.Combine3<A, ?, ?, ?, B>) rule);
+        if (rule instanceof RuleNode.Costed) {
+            RuleNode.Costed<A, B> node = (RuleNode.Costed<A, B>) rule;
+            return new RuleNode.Costed<>(optimize(node.rule), node.cost);
+        }
+        if (rule instanceof RuleNode.CombineN) {
+            RuleNode.CombineN<A, B> node = (RuleNode.CombineN<A, B>) rule;
+            return node.withBranches(optimizeAll(node.branches));
+        }
+        if (rule instanceof RuleNode.ParallelCombine) {
+            RuleNode.ParallelCombine<A, B> node = (RuleNode.ParallelCombine<A, B>) rule;
+            return node.withBranches(optimizeAll(node.branches));
+        }
+        if (rule instanceof RuleNode.Chain)
+            return optimizeChain((RuleNode.Chain<A, ?, B>) rule);
+        if (rule instanceof RuleNode.Combine2)
+            return optimizeCombine2((RuleNode.Combine2<A, ?, ?, B>) rule);
+        return rule;
+    }
+
+    private static <A, B, C> ValidationRule<A, C> optimizeMap(RuleNode.Map<A, B, C> node) {
+        return new RuleNode.Map<>(optimize(node.rule), node.f);
+    }
+
+    private static <A, B, C> ValidationRule<C, B> optimizeContraMap(RuleNode.ContraMap<A, B, C> node) {
+        return new RuleNode.ContraMap<>(optimize(node.rule), node.f);
+    }
+
+    private static <FROM, A, B> ValidationRule<FROM, B> optimizeFrom(RuleNode.From<FROM, A, B> node) {
+        return new RuleNode.From<>(optimize(node.rule), node.extractor, node.target);
+    }
+
+    private static <A, B, C, D, RESULT> ValidationRule<A, RESULT> optimizeCombine3(RuleNode.Combine3<A, B, C, D, RESULT> node) {
+        return new RuleNode.Combine3<>(optimize(node.first), optimize(node.second), optimize(node.third), node.composeResult);
+    }
+
+    private static <A> List<ValidationRule<A, ?>> optimizeAll(List<ValidationRule<A, ?>> rules) {
+        List<ValidationRule<A, ?>> optimized = new ArrayList<>(rules.size());
+        for (ValidationRule<A, ?> rule : rules) {
+            optimized.add(optimize(rule));
+        }
+        return optimized;
+    }
+
+    private static <A, B, C> ValidationRule<A, C> optimizeChain(RuleNode.Chain<A, B, C> node) {
+        return rewriteChain(optimize(node.first), optimize(node.second));
+    }
+
+    private static <A, B, C, RESULT> ValidationRule<A, RESULT> optimizeCombine2(RuleNode.Combine2<A, B, C, RESULT> node) {
+        return rewriteCombine(optimize(node.first), optimize(node.second), node.composeResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A, B, C> ValidationRule<A, C> rewriteChain(ValidationRule<A, B> first, ValidationRule<B, C> second) {
+        if (second instanceof RuleNode.NotNull)
+            return (ValidationRule<A, C>) first;
+
+        RuleNode.StringChecks<?> firstChecks = asStringChecks(first);
+        RuleNode.StringChecks<?> secondChecks = asStringChecks(second);
+        ValidationRule<A, C> unfused = new RuleNode.Chain<>(first, second);
+        if (firstChecks == null || secondChecks == null || firstChecks.result != null)
+            return unfused;
+
+        List<List<RuleNode<String, String>>> stages = new ArrayList<>(firstChecks.stages);
+        for (List<RuleNode<String, String>> stage : secondChecks.stages) {
+            List<RuleNode<String, String>> remaining = new ArrayList<>();
+            for (RuleNode<String, String> check : stage) {
+                if (!impliedByEarlierStage(check, stages))
+                    remaining.add(check);
+            }
+            if (!remaining.isEmpty())
+                stages.add(ImmutableList.copyOf(remaining));
+        }
+        return fused(ImmutableList.copyOf(stages), (Function<String, C>) secondChecks.result, unfused);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A, B, C, RESULT> ValidationRule<A, RESULT> rewriteCombine(ValidationRule<A, B> first, ValidationRule<A, C> second,
+                                                                              BiFunction<B, C, RESULT> composeResult) {
+        RuleNode.StringChecks<?> firstChecks = asStringChecks(first);
+        RuleNode.StringChecks<?> secondChecks = asStringChecks(second);
+        ValidationRule<A, RESULT> unfused = new RuleNode.Combine2<>(first, second, composeResult);
+        if (firstChecks == null || secondChecks == null
+                || firstChecks.stages.size() != 1 || secondChecks.stages.size() != 1
+                || firstChecks.result != null || secondChecks.result != null)
+            return unfused;
+
+        List<RuleNode<String, String>> stage = ImmutableList.<RuleNode<String, String>>builder()
+                .addAll(firstChecks.stages.get(0))
+                .addAll(secondChecks.stages.get(0))
+                .build();
+        // both rules are string checks returning their input, so B and C are String
+        BiFunction<String, String, RESULT> composeStrings = (BiFunction<String, String, RESULT>) (BiFunction<?, ?, RESULT>) composeResult;
+        Function<String, RESULT> result = value -> composeStrings.apply(value, value);
+        return fused(ImmutableList.of(stage), result, unfused);
+    }
+
+    /**
+     * Returns string checks with the given stages replacing the given rule, which is made of string checks and so
+     * validates strings
+     */
+    @SuppressWarnings("unchecked")
+    private static <A, B> ValidationRule<A, B> fused(List<List<RuleNode<String, String>>> stages, Function<String, B> result,
+                                                     ValidationRule<A, B> unfused) {
+        return (ValidationRule<A, B>) (ValidationRule<?, B>)
+                new RuleNode.StringChecks<>(stages, result, (ValidationRule<String, B>) (ValidationRule<?, B>) unfused);
+    }
+
+    /**
+     * Returns the given rule as string checks, or <code>null</code> if it isn't made of string checks only
+     */
+    @SuppressWarnings("unchecked")
+    private static RuleNode.StringChecks<?> asStringChecks(ValidationRule<?, ?> rule) {
+        if (rule instanceof RuleNode.StringChecks)
+            return (RuleNode.StringChecks<?>) rule;
+        if (rule instanceof RuleNode.Required || rule instanceof RuleNode.MaxLength || rule instanceof RuleNode.Containing) {
+            RuleNode<String, String> check = (RuleNode<String, String>) rule;
+            return new RuleNode.StringChecks<>(ImmutableList.<List<RuleNode<String, String>>>of(ImmutableList.of(check)), null, check);
+        }
+        return null;
+    }
+    /**
+     * Returns whether the given check always passes once the checks of the given earlier stages passed
+     */
+    private static boolean impliedByEarlierStage(RuleNode<String, String> check, List<List<RuleNode<String, String>>> stages) {
+        for (List<RuleNode<String, String>> stage : stages) {
+            for (RuleNode<String, String> earlier : stage) {
+                if (check instanceof RuleNode.Required && earlier instanceof RuleNode.Required)
+                    return true;
+                if (check instanceof RuleNode.MaxLength && earlier instanceof RuleNode.MaxLength
+                        && ((RuleNode.MaxLength) earlier).max <= ((RuleNode.MaxLength) check).max)
+                    return true;
+                if (check instanceof RuleNode.Containing && earlier instanceof RuleNode.Containing
+                        && ((RuleNode.Containing) earlier).searchString != null
+                        && ((RuleNode.Containing) earlier).searchString.equals(((RuleNode.Containing) check).searchString))
+                    return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,11 +5,15 @@ import fj.F3;
 import fj.Semigroup;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static fj.Semigroup.semigroup;
 import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
 
 /**
@@ -108,6 +112,19 @@ public class Validation<E, T> {
         return c ? Validation.success(t) : Validation.fail(e);
     }
 
+    /**
+     * Returns a validation based on a boolean condition. If the condition is <code>true</code>, the validation succeeds,
+     * otherwise it fails. The failing value is only constructed when the condition is <code>false</code>.
+     *
+     * @param c The condition to base the returned validation on.
+     * @param e Supplies the failing value to use if the condition is <code>false</code>.
+     * @param t The succeeding value to use if the condition is <code>true</code>.
+     * @return A validation based on a boolean condition.
+     */
+    public static <E, T> Validation<E, T> condition(boolean c, Supplier<E> e, T t) {
+        return c ? Validation.success(t) : Validation.fail(e.get());
+    }
+
 
     /**
      * Maps the given function across the success side of this validation.
@@ -139,26 +156,42 @@ public class Validation<E, T> {
     }
 
 
-    private <A> Validation<E, A> accumapply(Semigroup<E> s,
-                                            Validation<E, Function<T, A>> v) {
-        return isFail() ?
-                Validation.fail(v.isFail() ?
-                        s.sum(v.fail(), fail()) :
-                        fail()) :
-                v.isFail() ?
-                        Validation.fail(v.fail()) :
-                        Validation.success(v.success().apply(success()));
+    /**
+     * Folds the failing values of the given validations from left to right with the given function.
+     * Only to be called when at least one of the validations failed.
+     */
+    @SafeVarargs
+    private static <E> E accumulateErrors(BiFunction<E, E, E> combineErrors, Validation<E, ?>... validations) {
+        E result = null;
+        boolean first = true;
+        for (Validation<E, ?> validation : validations) {
+            if (validation.isFail()) {
+                result = first ? validation.e : combineErrors.apply(result, validation.e);
+                first = false;
+            }
+        }
+        return result;
     }
 
+    /**
+     * Accumulates errors on the failing side of the given validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
     public static <E, A, B, RESULT> Validation<E, RESULT> combine(
             Validation<E, A> first,
             Validation<E, B> second,
             BiFunction<E,E,E> combineErrors,
             BiFunction<A, B, RESULT> combineSuccesses
     ) {
-       return first.accumulate(semigroup(combineErrors::apply), second, combineSuccesses);
+        return first.isSuccess() && second.isSuccess() ?
+                success(combineSuccesses.apply(first.t, second.t)) :
+                fail(accumulateErrors(combineErrors, first, second));
     }
 
+    /**
+     * Accumulates errors on the failing side of the given validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
     public static <E, A, B, C, RESULT> Validation<E, RESULT> combine(
             Validation<E, A> first,
             Validation<E, B> second,
@@ -166,14 +199,358 @@ public class Validation<E, T> {
             BiFunction<E,E,E> combineErrors,
             F3<A, B, C, RESULT> combineSuccesses
     ) {
-        return first.accumulate(semigroup(combineErrors::apply), second, third, combineSuccesses);
+        return first.isSuccess() && second.isSuccess() && third.isSuccess() ?
+                success(combineSuccesses.f(first.t, second.t, third.t)) :
+                fail(accumulateErrors(combineErrors, first, second, third));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 4 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F4<T1, T2, T3, T4, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 5 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F5<T1, T2, T3, T4, T5, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 6 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F6<T1, T2, T3, T4, T5, T6, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 7 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F7<T1, T2, T3, T4, T5, T6, T7, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 8 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F8<T1, T2, T3, T4, T5, T6, T7, T8, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 9 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F9<T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 10 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 11 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            Validation<E, T11> v11,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() && v11.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t, v11.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10, v11));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 12 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            Validation<E, T11> v11,
+            Validation<E, T12> v12,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() && v11.isSuccess() && v12.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t, v11.t, v12.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10, v11, v12));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 13 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            Validation<E, T11> v11,
+            Validation<E, T12> v12,
+            Validation<E, T13> v13,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() && v11.isSuccess() && v12.isSuccess() && v13.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t, v11.t, v12.t, v13.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10, v11, v12, v13));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 14 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            Validation<E, T11> v11,
+            Validation<E, T12> v12,
+            Validation<E, T13> v13,
+            Validation<E, T14> v14,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() && v11.isSuccess() && v12.isSuccess() && v13.isSuccess() && v14.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t, v11.t, v12.t, v13.t, v14.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10, v11, v12, v13, v14));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 15 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            Validation<E, T11> v11,
+            Validation<E, T12> v12,
+            Validation<E, T13> v13,
+            Validation<E, T14> v14,
+            Validation<E, T15> v15,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() && v11.isSuccess() && v12.isSuccess() && v13.isSuccess() && v14.isSuccess() && v15.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t, v11.t, v12.t, v13.t, v14.t, v15.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10, v11, v12, v13, v14, v15));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 16 validations if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    public static <E, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> Validation<E, RESULT> combine(
+            Validation<E, T1> v1,
+            Validation<E, T2> v2,
+            Validation<E, T3> v3,
+            Validation<E, T4> v4,
+            Validation<E, T5> v5,
+            Validation<E, T6> v6,
+            Validation<E, T7> v7,
+            Validation<E, T8> v8,
+            Validation<E, T9> v9,
+            Validation<E, T10> v10,
+            Validation<E, T11> v11,
+            Validation<E, T12> v12,
+            Validation<E, T13> v13,
+            Validation<E, T14> v14,
+            Validation<E, T15> v15,
+            Validation<E, T16> v16,
+            BiFunction<E, E, E> combineErrors,
+            Functions.F16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> combineSuccesses
+    ) {
+        return v1.isSuccess() && v2.isSuccess() && v3.isSuccess() && v4.isSuccess() && v5.isSuccess() && v6.isSuccess() && v7.isSuccess() && v8.isSuccess() && v9.isSuccess() && v10.isSuccess() && v11.isSuccess() && v12.isSuccess() && v13.isSuccess() && v14.isSuccess() && v15.isSuccess() && v16.isSuccess() ?
+                success(combineSuccesses.apply(v1.t, v2.t, v3.t, v4.t, v5.t, v6.t, v7.t, v8.t, v9.t, v10.t, v11.t, v12.t, v13.t, v14.t, v15.t, v16.t)) :
+                fail(accumulateErrors(combineErrors, v1, v2, v3, v4, v5, v6, v7, v8, v9, v10, v11, v12, v13, v14, v15, v16));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given validations if one or more are encountered, or applies
+     * the given function to the list of all successful values, in the same order as the validations.
+     */
+    public static <E, T, RESULT> Validation<E, RESULT> combineAll(
+            List<? extends Validation<E, ? extends T>> validations,
+            BiFunction<E, E, E> combineErrors,
+            Function<List<T>, RESULT> combineSuccesses
+    ) {
+        Object[] successes = new Object[validations.size()];
+        E errors = null;
+        boolean failed = false;
+        for (int i = 0; i < successes.length; i++) {
+            Validation<E, ? extends T> validation = validations.get(i);
+            if (validation.isSuccess()) {
+                successes[i] = validation.t;
+            } else {
+                errors = failed ? combineErrors.apply(errors, validation.e) : validation.e;
+                failed = true;
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<T> successList = (List<T>) Collections.unmodifiableList(Arrays.asList(successes));
+        return failed ? fail(errors) : success(combineSuccesses.apply(successList));
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given validations if one or more are encountered, or applies
+     * the given function to the list of all successful values, in the same order as the validations.
+     */
+    @SafeVarargs
+    public static <E, T, RESULT> Validation<E, RESULT> combineAll(
+            BiFunction<E, E, E> combineErrors,
+            Function<List<T>, RESULT> combineSuccesses,
+            Validation<E, ? extends T>... validations
+    ) {
+        List<Validation<E, ? extends T>> validationList = new ArrayList<>(validations.length);
+        for (Validation<E, ? extends T> validation : validations) {
+            validationList.add(validation);
+        }
+        return combineAll(validationList, combineErrors, combineSuccesses);
     }
 
 
     public <B, RESULT> Validation<E, RESULT> combine(Validation<E, B> second,
                                                      BiFunction<E,E,E> combineErrors,
                                                      BiFunction<T, B, RESULT> combineSuccesses) {
-        return accumulate(semigroup(combineErrors::apply), second, combineSuccesses);
+        return combine(this, second, combineErrors, combineSuccesses);
     }
 
     /**
@@ -189,7 +566,9 @@ public class Validation<E, T> {
     public <A, B> Validation<E, B> accumulate(Semigroup<E> s,
                                               Validation<E, A> va,
                                               BiFunction<T, A, B> f) {
-        return va.accumapply(s, map(t -> a -> f.apply(t, a)));
+        return isSuccess() && va.isSuccess() ?
+                success(f.apply(t, va.t)) :
+                fail(accumulateErrors(s::sum, this, va));
     }
 
 
@@ -208,7 +587,9 @@ public class Validation<E, T> {
                                                  Validation<E, A> va,
                                                  Validation<E, B> vb,
                                                  F3<T, A, B, C> f) {
-        return vb.accumapply(s, accumulate(s, va, (t, a) -> b -> f.f(t, a, b)));
+        return isSuccess() && va.isSuccess() && vb.isSuccess() ?
+                success(f.f(t, va.t, vb.t)) :
+                fail(accumulateErrors(s::sum, this, va, vb));
     }
 
 
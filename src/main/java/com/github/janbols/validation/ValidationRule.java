@@ -1,20 +1,21 @@
 package com.github.janbols.validation;
 
 import com.github.janbols.domain.PersonForm.Field;
-import com.google.common.primitives.Ints;
 import fj.F3;
-import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
 
-import static com.google.common.collect.Iterables.concat;
-import static com.google.common.collect.Lists.newArrayList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 /**
  * Defines a validation rule
@@ -35,19 +36,32 @@ public interface ValidationRule<A, B> {
      */
     Validation<List<String>, B> validate(A value, Field target);
 
+    /**
+     * Validates the given input value of type A for the given target, evaluating only as much of this rule
+     * as the given mode needs
+     *
+     * @param value
+     * @param target
+     * @param mode
+     * @return Validation of either a list of strings or a value of type B
+     */
+    default Validation<List<String>, B> validate(A value, Field target, EvaluationMode mode) {
+        return mode.validate(this, value, target);
+    }
+
 
     /**
      * Maps the successful output to another output, using the given mapping function
      */
     default <C> ValidationRule<A, C> map(Function<B, C> f) {
-        return (value, target) -> this.validate(value, target).map(f);
+        return new RuleNode.Map<>(this, f);
     }
 
     /**
      * Maps the input of this rule to another input, using the given mapping function
      */
     default <C> ValidationRule<C, B> contraMap(Function<C, A> f) {
-        return (value, target) -> this.validate(f.apply(value), target);
+        return new RuleNode.ContraMap<>(this, f);
     }
 
 
@@ -55,8 +69,7 @@ public interface ValidationRule<A, B> {
      * Binds the given other {@link ValidationRule} across this validation's success value of this rule.
      */
     default <C> ValidationRule<A, C> chain(ValidationRule<B, C> other) {
-        return (value, target) -> this.validate(value, target)
-                .chain(firstResult -> other.validate(firstResult, target));
+        return new RuleNode.Chain<>(this, other);
     }
 
     /**
@@ -64,10 +77,7 @@ public interface ValidationRule<A, B> {
      * the given function if all succeeded and returns that value on the successful side.
      */
     default <C, RESULT> ValidationRule<A, RESULT> combine(ValidationRule<A, C> other, BiFunction<B, C, RESULT> composeResult) {
-        return (value, target) -> Validation.combine(
-                this.validate(value, target),
-                other.validate(value, target),
-                combineErrors, composeResult);
+        return new RuleNode.Combine2<>(this, other, composeResult);
     }
 
     static <A, B, C, RESULT> ValidationRule<A, RESULT> combine(
@@ -85,11 +95,7 @@ public interface ValidationRule<A, B> {
             ValidationRule<A, C> second,
             ValidationRule<A, D> third,
             F3<B, C, D, RESULT> composeResult) {
-        return (value, target) -> Validation.combine(
-                this.validate(value, target),
-                second.validate(value, target),
-                third.validate(value, target),
-                combineErrors, composeResult);
+        return new RuleNode.Combine3<>(this, second, third, composeResult);
     }
 
     static <A, B, C, D, RESULT> ValidationRule<A, RESULT> combine(
@@ -101,11 +107,346 @@ public interface ValidationRule<A, B> {
         return first.combine(second, third, composeResult);
     }
 
+    /**
+     * Like {@link #combine(ValidationRule, ValidationRule, BiFunction)}, except that branches costing at least
+     * the given threshold, e.g. {@link RuleCost#FORK_THRESHOLD}, are run at the same time on the given pool.
+     * Cheaper branches run on the calling thread.
+     * As expensive branches usually block on I/O, give them a pool of their own rather than the common pool.
+     */
+    @SuppressWarnings("unchecked")
+    static <A, B, C, RESULT> ValidationRule<A, RESULT> combineInParallel(
+            ForkJoinPool pool, int forkThreshold,
+            ValidationRule<A, B> first,
+            ValidationRule<A, C> second,
+            BiFunction<B, C, RESULT> composeResult) {
+        return new RuleNode.ParallelCombine<>(pool, forkThreshold, Arrays.asList(first, second),
+                results -> Validation.combine(
+                        (Validation<List<String>, B>) results.get(0),
+                        (Validation<List<String>, C>) results.get(1),
+                        combineErrors, composeResult));
+    }
+
+    /**
+     * Like {@link #combine(ValidationRule, ValidationRule, ValidationRule, F3)}, except that branches costing at least
+     * the given threshold, e.g. {@link RuleCost#FORK_THRESHOLD}, are run at the same time on the given pool.
+     * Cheaper branches run on the calling thread.
+     * As expensive branches usually block on I/O, give them a pool of their own rather than the common pool.
+     */
+    @SuppressWarnings("unchecked")
+    static <A, B, C, D, RESULT> ValidationRule<A, RESULT> combineInParallel(
+            ForkJoinPool pool, int forkThreshold,
+            ValidationRule<A, B> first,
+            ValidationRule<A, C> second,
+            ValidationRule<A, D> third,
+            F3<B, C, D, RESULT> composeResult) {
+        return new RuleNode.ParallelCombine<>(pool, forkThreshold, Arrays.asList(first, second, third),
+                results -> Validation.combine(
+                        (Validation<List<String>, B>) results.get(0),
+                        (Validation<List<String>, C>) results.get(1),
+                        (Validation<List<String>, D>) results.get(2),
+                        combineErrors, composeResult));
+    }
+
+    /**
+     * Declares what this rule costs to validate, for {@link RuleCost}: 1 for a check on a value in memory,
+     * {@link RuleCost#UNKNOWN} for a round trip to a database
+     */
+    default ValidationRule<A, B> withCost(int cost) {
+        return new RuleNode.Costed<>(this, cost);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 4 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            Functions.F4<T1, T2, T3, T4, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine4<>(r1, r2, r3, r4, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 5 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            Functions.F5<T1, T2, T3, T4, T5, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine5<>(r1, r2, r3, r4, r5, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 6 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            Functions.F6<T1, T2, T3, T4, T5, T6, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine6<>(r1, r2, r3, r4, r5, r6, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 7 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            Functions.F7<T1, T2, T3, T4, T5, T6, T7, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine7<>(r1, r2, r3, r4, r5, r6, r7, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 8 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            Functions.F8<T1, T2, T3, T4, T5, T6, T7, T8, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine8<>(r1, r2, r3, r4, r5, r6, r7, r8, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 9 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            Functions.F9<T1, T2, T3, T4, T5, T6, T7, T8, T9, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine9<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 10 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            Functions.F10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine10<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 11 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            ValidationRule<A, T11> r11,
+            Functions.F11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine11<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 12 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            ValidationRule<A, T11> r11,
+            ValidationRule<A, T12> r12,
+            Functions.F12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine12<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 13 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            ValidationRule<A, T11> r11,
+            ValidationRule<A, T12> r12,
+            ValidationRule<A, T13> r13,
+            Functions.F13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine13<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 14 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            ValidationRule<A, T11> r11,
+            ValidationRule<A, T12> r12,
+            ValidationRule<A, T13> r13,
+            ValidationRule<A, T14> r14,
+            Functions.F14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine14<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, r14, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 15 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            ValidationRule<A, T11> r11,
+            ValidationRule<A, T12> r12,
+            ValidationRule<A, T13> r13,
+            ValidationRule<A, T14> r14,
+            ValidationRule<A, T15> r15,
+            Functions.F15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine15<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, r14, r15, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given 16 {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function if all succeeded and returns that value on the successful side.
+     */
+    static <A, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> ValidationRule<A, RESULT> combine(
+            ValidationRule<A, T1> r1,
+            ValidationRule<A, T2> r2,
+            ValidationRule<A, T3> r3,
+            ValidationRule<A, T4> r4,
+            ValidationRule<A, T5> r5,
+            ValidationRule<A, T6> r6,
+            ValidationRule<A, T7> r7,
+            ValidationRule<A, T8> r8,
+            ValidationRule<A, T9> r9,
+            ValidationRule<A, T10> r10,
+            ValidationRule<A, T11> r11,
+            ValidationRule<A, T12> r12,
+            ValidationRule<A, T13> r13,
+            ValidationRule<A, T14> r14,
+            ValidationRule<A, T15> r15,
+            ValidationRule<A, T16> r16,
+            Functions.F16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, RESULT> composeResult
+    ) {
+        return new RuleNode.Combine16<>(r1, r2, r3, r4, r5, r6, r7, r8, r9, r10, r11, r12, r13, r14, r15, r16, composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function to the list of all successful values, in the same order as the rules.
+     */
+    static <A, T, RESULT> ValidationRule<A, RESULT> combineAll(
+            List<? extends ValidationRule<A, ? extends T>> rules,
+            Function<List<T>, RESULT> composeResult
+    ) {
+        return new RuleNode.CombineAll<>(new ArrayList<ValidationRule<A, ? extends T>>(rules), composeResult);
+    }
+
+    /**
+     * Accumulates errors on the failing side of the given {@link ValidationRule}s if one or more are encountered, or applies
+     * the given function to the list of all successful values, in the same order as the rules.
+     */
+    @SafeVarargs
+    static <A, T, RESULT> ValidationRule<A, RESULT> combineAll(
+            Function<List<T>, RESULT> composeResult,
+            ValidationRule<A, ? extends T>... rules
+    ) {
+        List<ValidationRule<A, ? extends T>> ruleList = new ArrayList<>(rules.length);
+        for (ValidationRule<A, ? extends T> rule : rules) {
+            ruleList.add(rule);
+        }
+        return combineAll(ruleList, composeResult);
+    }
+
     /**
      * Fixes the target of the validation rule to the given value
      */
     default ValidationRule<A, B> withTarget(Field newTarget) {
-        return (value, target) -> this.validate(value, newTarget);
+        return new RuleNode.WithTarget<>(this, newTarget);
     }
 
     /**
@@ -113,7 +454,7 @@ public interface ValidationRule<A, B> {
      * given a mapping function from C to A and a target {@link Field}
      */
     default <FROM> ValidationRule<FROM, B> from(Function<FROM, A> extractor, Field target) {
-        return contraMap(extractor).withTarget(target);
+        return new RuleNode.From<>(this, extractor, target);
     }
 
     static <A, B, FROM> ValidationRule<FROM, B> from(
@@ -122,33 +463,31 @@ public interface ValidationRule<A, B> {
         return rule.from(extractor, newTarget);
     }
 
+    /**
+     * Freezes this rule graph into a {@link CompiledValidator} that validates its input for the given target
+     */
+    default CompiledValidator<A, B> compile(Field target) {
+        return CompiledValidator.of(this, target);
+    }
+
     /**
      * Checks that the input is not null
      */
     static <A> ValidationRule<A, A> notNull() {
-        return (value, target) ->
-                Validation.condition(value != null,
-                        newArrayList(target.value + " can not be null."),
-                        value);
+        return new RuleNode.NotNull<>();
     }
 
     /**
      * Checks that the input String is not blank
      */
-    ValidationRule<String, String> required = (value, target) ->
-            Validation.condition(isNotBlank(value),
-                    newArrayList(target.value + " can not be empty."),
-                    value);
+    ValidationRule<String, String> required = new RuleNode.Required();
 
 
     /**
      * Validates the maximum length of a String input
      */
     static ValidationRule<String, String> maxLength(int max) {
-        return (value, target) ->
-                Validation.condition(value.length() <= max,
-                        newArrayList(target.value + " has exceed max length of " + max + " characters."),
-                        value);
+        return new RuleNode.MaxLength(max);
     }
 
 
@@ -156,10 +495,7 @@ public interface ValidationRule<A, B> {
      * Checks that the input string contains the given searchString
      */
     static ValidationRule<String, String> containing(String searchString) {
-        return (value, target) ->
-                Validation.condition(StringUtils.contains(value, searchString),
-                        newArrayList(target.value + " should contain " + searchString + "."),
-                        value);
+        return new RuleNode.Containing(searchString);
     }
 
 
@@ -189,31 +525,265 @@ public interface ValidationRule<A, B> {
     static <A, B> ValidationRule<A, B> condition(Predicate<A> tester,
                                                  ValidationRule<A, B> ruleWhenTrue,
                                                  ValidationRule<A, B> ruleWenFalse) {
-        return (value, target) -> tester.test(value) ?
-                ruleWhenTrue.validate(value, target) :
-                ruleWenFalse.validate(value, target);
+        return new RuleNode.Condition<>(tester, ruleWhenTrue, ruleWenFalse);
     }
 
 
     /**
      * Checks that the string input is an integer
      */
-    ValidationRule<String, Integer> isInteger = (value, target) ->
-            Validation.condition(Ints.tryParse(value) != null,
-                    newArrayList(target.value + " must be an integer."),
-                    Ints.tryParse(value));
+    ValidationRule<String, Integer> isInteger = new RuleNode.IsInteger();
 
     /**
      * Checks that the input integer is between the given min and max value
      */
     static ValidationRule<Integer, Integer> between(int min, int max) {
-        return (value, target) ->
-                Validation.condition(value >= min && value <= max,
-                        newArrayList(target.value + " must be between " + min + " and " + max + "."),
-                        value
-                );
+        return new RuleNode.Between(min, max);
+    }
+
+    BiFunction<List<String>, List<String>, List<String>> combineErrors = Errors::concat;
+
+    /**
+     * A validation rule resulting in a primitive <code>int</code>, so the validated value doesn't need to be boxed
+     *
+     * @param <A> The input type to validate
+     */
+    @FunctionalInterface
+    interface OfInt<A> {
+
+        /**
+         * Validates the given input value of type A for the given target
+         *
+         * @param value
+         * @param target
+         * @return Validation of either a list of strings or a <code>int</code>
+         */
+        IntValidation validate(A value, Field target);
+
+        /**
+         * Parses the input {@link CharSequence} into a <code>int</code>
+         */
+        OfInt<CharSequence> isInteger = NumberParsing::parseInt;
+
+        /**
+         * Checks that the resulting <code>int</code> is between the given min and max value
+         */
+        default OfInt<A> between(int min, int max) {
+            return (value, target) -> {
+                IntValidation validation = this.validate(value, target);
+                return validation.isFail() || validation.success() >= min && validation.success() <= max ?
+                        validation :
+                        IntValidation.fail(Errors.of(target.value + " must be between " + min + " and " + max + "."));
+            };
+        }
+
+        /**
+         * Maps the input of this rule to another input, using the given mapping function
+         */
+        default <C> OfInt<C> contraMap(Function<C, A> f) {
+            return (value, target) -> this.validate(f.apply(value), target);
+        }
+
+        /**
+         * Fixes the target of the validation rule to the given value
+         */
+        default OfInt<A> withTarget(Field newTarget) {
+            return (value, target) -> this.validate(value, newTarget);
+        }
+
+        /**
+         * Converts this rule to a rule for a value of type FROM,
+         * given a mapping function from FROM to A and a target {@link Field}
+         */
+        default <FROM> OfInt<FROM> from(Function<FROM, A> extractor, Field target) {
+            return (value, ignored) -> this.validate(extractor.apply(value), target);
+        }
+
+        /**
+         * Maps the successful <code>int</code> to an object, using the given mapping function
+         */
+        default <B> ValidationRule<A, B> mapToObj(IntFunction<B> f) {
+            return (value, target) -> this.validate(value, target).mapToObj(f);
+        }
+
+        /**
+         * Boxes the successful <code>int</code>
+         */
+        default ValidationRule<A, Integer> boxed() {
+            return (value, target) -> this.validate(value, target).boxed();
+        }
+
+        /**
+         * Turns a blank input into a successful empty value or continues with the given otherRule rule,
+         * boxing its result
+         */
+        static ValidationRule<CharSequence, Optional<Integer>> optionalOr(OfInt<CharSequence> otherRule) {
+            return (value, target) -> isBlank(value) ?
+                    Validation.success(Optional.empty()) :
+                    otherRule.validate(value, target).mapToObj(Optional::of);
+        }
+    }
+
+    /**
+     * A validation rule resulting in a primitive <code>long</code>, so the validated value doesn't need to be boxed
+     *
+     * @param <A> The input type to validate
+     */
+    @FunctionalInterface
+    interface OfLong<A> {
+
+        /**
+         * Validates the given input value of type A for the given target
+         *
+         * @param value
+         * @param target
+         * @return Validation of either a list of strings or a <code>long</code>
+         */
+        LongValidation validate(A value, Field target);
+
+        /**
+         * Parses the input {@link CharSequence} into a <code>long</code>
+         */
+        OfLong<CharSequence> isLong = NumberParsing::parseLong;
+
+        /**
+         * Checks that the resulting <code>long</code> is between the given min and max value
+         */
+        default OfLong<A> between(long min, long max) {
+            return (value, target) -> {
+                LongValidation validation = this.validate(value, target);
+                return validation.isFail() || validation.success() >= min && validation.success() <= max ?
+                        validation :
+                        LongValidation.fail(Errors.of(target.value + " must be between " + min + " and " + max + "."));
+            };
+        }
+
+        /**
+         * Maps the input of this rule to another input, using the given mapping function
+         */
+        default <C> OfLong<C> contraMap(Function<C, A> f) {
+            return (value, target) -> this.validate(f.apply(value), target);
+        }
+
+        /**
+         * Fixes the target of the validation rule to the given value
+         */
+        default OfLong<A> withTarget(Field newTarget) {
+            return (value, target) -> this.validate(value, newTarget);
+        }
+
+        /**
+         * Converts this rule to a rule for a value of type FROM,
+         * given a mapping function from FROM to A and a target {@link Field}
+         */
+        default <FROM> OfLong<FROM> from(Function<FROM, A> extractor, Field target) {
+            return (value, ignored) -> this.validate(extractor.apply(value), target);
+        }
+
+        /**
+         * Maps the successful <code>long</code> to an object, using the given mapping function
+         */
+        default <B> ValidationRule<A, B> mapToObj(LongFunction<B> f) {
+            return (value, target) -> this.validate(value, target).mapToObj(f);
+        }
+
+        /**
+         * Boxes the successful <code>long</code>
+         */
+        default ValidationRule<A, Long> boxed() {
+            return (value, target) -> this.validate(value, target).boxed();
+        }
+
+        /**
+         * Turns a blank input into a successful empty value or continues with the given otherRule rule,
+         * boxing its result
+         */
+        static ValidationRule<CharSequence, Optional<Long>> optionalOr(OfLong<CharSequence> otherRule) {
+            return (value, target) -> isBlank(value) ?
+                    Validation.success(Optional.empty()) :
+                    otherRule.validate(value, target).mapToObj(Optional::of);
+        }
     }
 
-    BiFunction<List<String>, List<String>, List<String>> combineErrors = (e1, e2) -> newArrayList(concat(e1, e2));
+    /**
+     * A validation rule resulting in a primitive <code>double</code>, so the validated value doesn't need to be boxed
+     *
+     * @param <A> The input type to validate
+     */
+    @FunctionalInterface
+    interface OfDouble<A> {
+
+        /**
+         * Validates the given input value of type A for the given target
+         *
+         * @param value
+         * @param target
+         * @return Validation of either a list of strings or a <code>double</code>
+         */
+        DoubleValidation validate(A value, Field target);
+
+        /**
+         * Parses the input {@link CharSequence} into a <code>double</code>
+         */
+        OfDouble<CharSequence> isDouble = NumberParsing::parseDouble;
+
+        /**
+         * Checks that the resulting <code>double</code> is between the given min and max value
+         */
+        default OfDouble<A> between(double min, double max) {
+            return (value, target) -> {
+                DoubleValidation validation = this.validate(value, target);
+                return validation.isFail() || validation.success() >= min && validation.success() <= max ?
+                        validation :
+                        DoubleValidation.fail(Errors.of(target.value + " must be between " + min + " and " + max + "."));
+            };
+        }
+
+        /**
+         * Maps the input of this rule to another input, using the given mapping function
+         */
+        default <C> OfDouble<C> contraMap(Function<C, A> f) {
+            return (value, target) -> this.validate(f.apply(value), target);
+        }
+
+        /**
+         * Fixes the target of the validation rule to the given value
+         */
+        default OfDouble<A> withTarget(Field newTarget) {
+            return (value, target) -> this.validate(value, newTarget);
+        }
+
+        /**
+         * Converts this rule to a rule for a value of type FROM,
+         * given a mapping function from FROM to A and a target {@link Field}
+         */
+        default <FROM> OfDouble<FROM> from(Function<FROM, A> extractor, Field target) {
+            return (value, ignored) -> this.validate(extractor.apply(value), target);
+        }
+
+        /**
+         * Maps the successful <code>double</code> to an object, using the given mapping function
+         */
+        default <B> ValidationRule<A, B> mapToObj(DoubleFunction<B> f) {
+            return (value, target) -> this.validate(value, target).mapToObj(f);
+        }
+
+        /**
+         * Boxes the successful <code>double</code>
+         */
+        default ValidationRule<A, Double> boxed() {
+            return (value, target) -> this.validate(value, target).boxed();
+        }
+
+        /**
+         * Turns a blank input into a successful empty value or continues with the given otherRule rule,
+         * boxing its result
+         */
+        static ValidationRule<CharSequence, Optional<Double>> optionalOr(OfDouble<CharSequence> otherRule) {
+            return (value, target) -> isBlank(value) ?
+                    Validation.success(Optional.empty()) :
+                    otherRule.validate(value, target).mapToObj(Optional::of);
+        }
+    }
 
 }
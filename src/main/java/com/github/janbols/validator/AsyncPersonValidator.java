@@ -0,0 +1,50 @@
+package com.github.janbols.validator;
+
+import com.github.janbols.AsyncUserRepo;
+import com.github.janbols.domain.Person;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.AsyncValidationRule;
+import com.github.janbols.validation.Errors;
+import com.github.janbols.validation.RuleCompiler;
+import com.github.janbols.validation.Validation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.janbols.domain.PersonForm.Field.FORM;
+import static com.github.janbols.validation.AsyncValidationRule.combine;
+
+/**
+ * Validates a {@link PersonForm} like {@link RuleComposingPersonValidator}, without blocking on the user repo:
+ * the field rules run on the calling thread, and the uniqueness of the name is checked in an {@link AsyncUserRepo}.
+ */
+public class AsyncPersonValidator {
+
+    static AsyncValidationRule<PersonName, PersonName> doesNotExistInUserRepo(AsyncUserRepo userRepo) {
+        return (value, target) -> userRepo.findIdBy(value).thenApply(id -> Validation.condition(!id.isPresent(),
+                () -> Errors.of("Person with name " + value.first + " " + value.last + " already exists."),
+                value));
+    }
+
+
+    private final AsyncValidationRule<PersonForm, Person> personRule;
+
+    public AsyncPersonValidator(AsyncUserRepo userRepo) {
+        this.personRule = personRule(userRepo);
+    }
+
+    public CompletableFuture<Validation<List<String>, Person>> validate(PersonForm value) {
+        return personRule.validate(value, FORM);
+    }
+
+    static AsyncValidationRule<PersonForm, Person> personRule(AsyncUserRepo userRepo) {
+        return combine(
+                AsyncValidationRule.of(RuleCompiler.compile(RuleComposingPersonValidator.nameRule()))
+                        .chain(doesNotExistInUserRepo(userRepo)),
+                AsyncValidationRule.of(RuleCompiler.compile(RuleComposingPersonValidator.emailRule())),
+                AsyncValidationRule.of(RuleCompiler.compile(RuleComposingPersonValidator.ageRule())),
+                (name, email, optionalAge) -> new Person(name, email, optionalAge.orElse(null))
+        );
+    }
+}
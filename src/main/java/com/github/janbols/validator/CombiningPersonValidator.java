@@ -6,6 +6,7 @@ import com.github.janbols.domain.Person;
 import com.github.janbols.domain.PersonForm;
 import com.github.janbols.domain.PersonForm.Field;
 import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.Errors;
 import com.github.janbols.validation.Validation;
 import com.google.common.primitives.Ints;
 
@@ -16,8 +17,6 @@ import java.util.function.Function;
 
 import static com.github.janbols.domain.PersonForm.Field.*;
 import static com.github.janbols.validation.Validation.combine;
-import static com.google.common.collect.Iterables.concat;
-import static com.google.common.collect.Lists.newArrayList;
 import static org.apache.commons.lang3.StringUtils.*;
 
 
@@ -26,37 +25,37 @@ public class CombiningPersonValidator {
 
     private final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
 
-    private final BiFunction<List<String>, List<String>, List<String>> combineErrors = (e1, e2) -> newArrayList(concat(e1, e2));
+    private final BiFunction<List<String>, List<String>, List<String>> combineErrors = Errors::concat;
 
 
     static Validation<List<String>, String> required(Field target, String value) {
         return Validation.condition(isNotBlank(value),
-                newArrayList(target.value + " is required."),
+                () -> Errors.of(target.value + " is required."),
                 value);
     }
 
     static Validation<List<String>, String> maxLength(int maxLength, Field target, String value) {
         return Validation.condition(length(value) <= maxLength,
-                newArrayList(target.value + " cannot be larger than " + maxLength + " characters."),
+                () -> Errors.of(target.value + " cannot be larger than " + maxLength + " characters."),
                 value);
     }
 
     static Validation<List<String>, String> containing(String searchString, Field target, String value) {
         return Validation.condition(contains(value, searchString),
-                newArrayList(target.value + " should contain " + searchString + "."),
+                () -> Errors.of(target.value + " should contain " + searchString + "."),
                 value);
     }
 
     static Validation<List<String>, Integer> between(int min, int max, Field target, int value) {
         return Validation.condition(value >= min && value <= max,
-                newArrayList(target.value + " must be between " + min + " and " + max + "."),
+                () -> Errors.of(target.value + " must be between " + min + " and " + max + "."),
                 value);
     }
 
     static Validation<List<String>, Integer> isInteger(Field target, String value) {
         Integer result = Ints.tryParse(value);
         return Validation.condition(result != null,
-                newArrayList(target.value + " must be an integer."),
+                () -> Errors.of(target.value + " must be an integer."),
                 result);
     }
 
@@ -68,7 +67,7 @@ public class CombiningPersonValidator {
 
     static Validation<List<String>, PersonName> doesNotExistInUserRepo(UserRepo userRepo, PersonName value) {
         return Validation.condition(!userRepo.findIdBy(value).isPresent(),
-                newArrayList("Person with name " + value.first + " " + value.last + " already exists."),
+                () -> Errors.of("Person with name " + value.first + " " + value.last + " already exists."),
                 value);
     }
 
@@ -5,6 +5,7 @@ import com.github.janbols.domain.Email;
 import com.github.janbols.domain.Person;
 import com.github.janbols.domain.PersonForm;
 import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.Errors;
 import com.google.common.primitives.Ints;
 import fj.F3;
 import fj.Semigroup;
@@ -19,30 +20,32 @@ import java.util.function.Predicate;
 
 import static com.github.janbols.domain.PersonForm.Field.*;
 import static com.github.janbols.validator.FunctionalJavaPersonValidator.ValidationRule.*;
-import static com.google.common.collect.Iterables.concat;
-import static com.google.common.collect.Lists.newArrayList;
-import static fj.Semigroup.semigroup;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 public class FunctionalJavaPersonValidator {
 
-    private final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
+    private static final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
 
     static ValidationRule<PersonName, PersonName> doesNotExistInUserRepo(UserRepo userRepo) {
-        return (value, target) -> Validation.condition(!userRepo.findIdBy(value).isPresent(),
-                newArrayList("Person with name " + value.first + " " + value.last + " already exists."),
-                value);
+        return (value, target) -> userRepo.findIdBy(value).isPresent() ?
+                Validation.fail(Errors.of("Person with name " + value.first + " " + value.last + " already exists.")) :
+                Validation.success(value);
     }
 
 
-    private UserRepo userRepo;
+    private final ValidationRule<PersonForm, Person> personRule;
 
     public FunctionalJavaPersonValidator(UserRepo userRepo) {
-        this.userRepo = userRepo;
+        this.personRule = personRule(userRepo);
     }
 
     public Validation<List<String>, Person> validate(PersonForm value) {
+        return personRule
+                .validate(value, FORM);
+    }
+
+    static ValidationRule<PersonForm, Person> personRule(UserRepo userRepo) {
 
         ValidationRule<PersonForm, String> firstNameRule =
                 required
@@ -74,16 +77,12 @@ public class FunctionalJavaPersonValidator {
                         .map(optionalAge -> optionalAge.orElse(null))
                         .from(f -> f.age, AGE);
 
-        ValidationRule<PersonForm, Person> personRule =
-                combine(
-                        nameRule,
-                        emailRule,
-                        ageRule,
-                        Person::new
-                );
-
-        return personRule
-                .validate(value, FORM);
+        return combine(
+                nameRule,
+                emailRule,
+                ageRule,
+                Person::new
+        );
     }
 
 
@@ -199,18 +198,18 @@ public class FunctionalJavaPersonValidator {
          */
         static <A> ValidationRule<A, A> notNull() {
             return (value, target) ->
-                    Validation.condition(value != null,
-                            newArrayList(target.value + " can not be null."),
-                            value);
+                    value != null ?
+                            Validation.success(value) :
+                            Validation.fail(Errors.of(target.value + " can not be null."));
         }
 
         /**
          * Checks that the input String is not blank
          */
         ValidationRule<String, String> required = (value, target) ->
-                Validation.condition(isNotBlank(value),
-                        newArrayList(target.value + " can not be empty."),
-                        value);
+                isNotBlank(value) ?
+                        Validation.success(value) :
+                        Validation.fail(Errors.of(target.value + " can not be empty."));
 
 
         /**
@@ -218,9 +217,9 @@ public class FunctionalJavaPersonValidator {
          */
         static ValidationRule<String, String> maxLength(int max) {
             return (value, target) ->
-                    Validation.condition(value.length() <= max,
-                            newArrayList(target.value + " has exceed max length of " + max + " characters."),
-                            value);
+                    value.length() <= max ?
+                            Validation.success(value) :
+                            Validation.fail(Errors.of(target.value + " has exceed max length of " + max + " characters."));
         }
 
 
@@ -229,9 +228,9 @@ public class FunctionalJavaPersonValidator {
          */
         static ValidationRule<String, String> containing(String searchString) {
             return (value, target) ->
-                    Validation.condition(StringUtils.contains(value, searchString),
-                            newArrayList(target.value + " should contain " + searchString + "."),
-                            value);
+                    StringUtils.contains(value, searchString) ?
+                            Validation.success(value) :
+                            Validation.fail(Errors.of(target.value + " should contain " + searchString + "."));
         }
 
 
@@ -271,22 +270,21 @@ public class FunctionalJavaPersonValidator {
          * Checks that the string input is an integer
          */
         ValidationRule<String, Integer> isInteger = (value, target) ->
-                Validation.condition(Ints.tryParse(value) != null,
-                        newArrayList(target.value + " must be an integer."),
-                        Ints.tryParse(value));
+                Ints.tryParse(value) != null ?
+                        Validation.success(Ints.tryParse(value)) :
+                        Validation.fail(Errors.of(target.value + " must be an integer."));
 
         /**
          * Checks that the input integer is between the given min and max value
          */
         static ValidationRule<Integer, Integer> between(int min, int max) {
             return (value, target) ->
-                    Validation.condition(value >= min && value <= max,
-                            newArrayList(target.value + " must be between " + min + " and " + max + "."),
-                            value
-                    );
+                    value >= min && value <= max ?
+                            Validation.success(value) :
+                            Validation.fail(Errors.of(target.value + " must be between " + min + " and " + max + "."));
         }
 
-        Semigroup<List<String>> combineErrors = semigroup((e1, e2) -> newArrayList(concat(e1, e2)));
+        Semigroup<List<String>> combineErrors = Errors.semigroup;
 
     }
 
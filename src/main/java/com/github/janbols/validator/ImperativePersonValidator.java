@@ -3,8 +3,9 @@ package com.github.janbols.validator;
 import com.github.janbols.UserRepo;
 import com.github.janbols.domain.PersonForm;
 import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.Errors;
+import com.github.janbols.validation.NumberParsing;
 import com.github.janbols.validation.Validation;
-import com.google.common.primitives.Ints;
 
 import java.util.List;
 
@@ -46,11 +47,13 @@ public class ImperativePersonValidator {
         if (isNotBlank(value.email) && value.email.length() >= 100)
             errors.add("Email cannot be more than 100 characters");
 
-        if (value.age != null && Ints.tryParse(value.age) == null)
-            errors.add("Age must be an integer");
-        if (value.age != null && Ints.tryParse(value.age) != null &&
-                (Ints.tryParse(value.age) < 0 || Ints.tryParse(value.age) > 100))
-            errors.add("Age must be between 0 and 100");
+        if (value.age != null) {
+            long age = NumberParsing.tryParseInt(value.age);
+            if (age == NumberParsing.NOT_AN_INT)
+                errors.add("Age must be an integer");
+            if (age != NumberParsing.NOT_AN_INT && (age < 0 || age > 100))
+                errors.add("Age must be between 0 and 100");
+        }
 
 
         return errors;
@@ -59,7 +62,7 @@ public class ImperativePersonValidator {
 
     static Validation<List<String>, String> required(PersonForm.Field target, String value) {
         return isBlank(value) ?
-                Validation.fail(newArrayList(target.value + " can not be empty.")) :
+                Validation.fail(Errors.of(target.value + " can not be empty.")) :
                 Validation.success(value);
     }
 }
@@ -0,0 +1,91 @@
+package com.github.janbols.validator;
+
+import com.github.janbols.ConcurrentUserRepo;
+import com.github.janbols.ConcurrentUserRepo.Reservation;
+import com.github.janbols.domain.Email;
+import com.github.janbols.domain.Person;
+import com.github.janbols.domain.PersonForm;
+import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.CompiledValidator;
+import com.github.janbols.validation.Errors;
+import com.github.janbols.validation.Validation;
+import com.github.janbols.validation.ValidationRule;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.janbols.domain.PersonForm.Field.FORM;
+import static com.github.janbols.validation.ValidationRule.combineErrors;
+
+/**
+ * Validates a {@link PersonForm} like {@link RuleComposingPersonValidator}, except that a name that passes the
+ * uniqueness check is reserved in the {@link ConcurrentUserRepo}. A valid form therefore can't be registered by
+ * another thread until the resulting {@link ReservedPerson} is registered or released.
+ * When the form is invalid, its reservation is released right away.
+ */
+public class ReservingPersonValidator {
+
+    static ValidationRule<PersonName, Reservation> reservedIn(ConcurrentUserRepo userRepo) {
+        return (value, target) -> {
+            Optional<Reservation> reservation = userRepo.reserveIfAbsent(value);
+            return reservation.isPresent() ?
+                    Validation.success(reservation.get()) :
+                    Validation.fail(Errors.of("Person with name " + value.first + " " + value.last + " already exists."));
+        };
+    }
+
+
+    private final CompiledValidator<PersonForm, Reservation> nameValidator;
+    private final CompiledValidator<PersonForm, Email> emailValidator =
+            RuleComposingPersonValidator.emailRule().compile(FORM);
+    private final CompiledValidator<PersonForm, Optional<Integer>> ageValidator =
+            RuleComposingPersonValidator.ageRule().compile(FORM);
+
+    public ReservingPersonValidator(ConcurrentUserRepo userRepo) {
+        this.nameValidator = RuleComposingPersonValidator.nameRule().chain(reservedIn(userRepo)).compile(FORM);
+    }
+
+    public Validation<List<String>, ReservedPerson> validate(PersonForm value) {
+        Validation<List<String>, Reservation> nameVal = nameValidator.validate(value);
+        Validation<List<String>, ReservedPerson> result = Validation.combine(
+                nameVal,
+                emailValidator.validate(value),
+                ageValidator.validate(value),
+                combineErrors,
+                (reservation, email, optionalAge) ->
+                        new ReservedPerson(new Person(reservation.name(), email, optionalAge.orElse(null)), reservation));
+        if (result.isFail() && nameVal.isSuccess())
+            nameVal.success().release();
+        return result;
+    }
+
+
+    /**
+     * A valid person whose name is reserved until it is registered or released
+     */
+    public static final class ReservedPerson {
+        public final Person person;
+        private final Reservation reservation;
+
+        private ReservedPerson(Person person, Reservation reservation) {
+            this.person = person;
+            this.reservation = reservation;
+        }
+
+        /**
+         * Registers the person with the given id
+         *
+         * @throws IllegalStateException when it was already registered or released
+         */
+        public void register(long id) {
+            reservation.commit(id);
+        }
+
+        /**
+         * Frees the name of the person, e.g. because storing it failed
+         */
+        public void release() {
+            reservation.release();
+        }
+    }
+}
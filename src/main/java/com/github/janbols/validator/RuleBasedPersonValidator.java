@@ -5,14 +5,14 @@ import com.github.janbols.domain.Email;
 import com.github.janbols.domain.Person;
 import com.github.janbols.domain.PersonForm;
 import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.Errors;
 import com.github.janbols.validation.Validation;
 
-import java.util.List;
+import java.util.*;
 import java.util.function.BiFunction;
 
 import static com.github.janbols.domain.PersonForm.Field.*;
 import static com.github.janbols.validation.ValidationRule.*;
-import static com.google.common.collect.Lists.newArrayList;
 
 
 public class RuleBasedPersonValidator {
@@ -22,8 +22,12 @@ public class RuleBasedPersonValidator {
     private final UserRepo userRepo;
 
     Validation<List<String>, PersonName> doesNotExistInUserRepo(PersonName value) {
-        return Validation.condition(!userRepo.findIdBy(value).isPresent(),
-                newArrayList("Person with name " + value.first + " " + value.last + " already exists."),
+        return doesNotExist(value, userRepo.findIdBy(value).isPresent());
+    }
+
+    private static Validation<List<String>, PersonName> doesNotExist(PersonName value, boolean exists) {
+        return Validation.condition(!exists,
+                () -> Errors.of("Person with name " + value.first + " " + value.last + " already exists."),
                 value);
     }
 
@@ -33,41 +37,79 @@ public class RuleBasedPersonValidator {
     }
 
     public Validation<List<String>, Person> validate(PersonForm value) {
-        
-            Validation<List<String>, String> firstNameVal = required
-                    .chain(maxLength(250))
-                    .validate(value.firstName, FIRSTNAME);
-
-            Validation<List<String>, String> lastNameVal = required
-                    .chain(maxLength(250))
-                    .validate(value.lastName, LASTNAME);
-
-            Validation<List<String>, PersonName> nameVal = Validation.combine(
-                    firstNameVal ,
-                    lastNameVal,
-                    combineErrors, PersonName::new)
-                    .chain(this::doesNotExistInUserRepo);
-
-            Validation<List<String>, Email> emailVal = required
-                    .chain(
-                            combine(
-                                    maxLength(100),
-                                    containing("@"),
-                                    takeFirst)
-                    )
-                    .map(Email::new)
-                    .validate(value.email, EMAIL);
-
-            Validation<List<String>, Integer> ageVal = optionalOr(isInteger.chain(between(0, 100)))
-                    .validate(value.age, AGE)
-                    .map(oAge -> oAge.orElse(null));
-
-            return Validation.combine(
-                    nameVal,
-                    emailVal,
-                    ageVal,
+        return Validation.combine(
+                validateName(value).chain(this::doesNotExistInUserRepo),
+                validateEmail(value),
+                validateAge(value),
+                combineErrors,
+                (name, email, oAge) -> new Person(name, email, oAge.orElse(null))
+        );
+    }
+
+    /**
+     * Validates all given forms with a single lookup in the user repo.
+     * The field rules of all forms run first, then the names that passed them are looked up at once.
+     *
+     * @return the validation of every form, in the order of the given forms
+     */
+    public List<Validation<List<String>, Person>> validateAll(List<PersonForm> values) {
+        List<Validation<List<String>, PersonName>> nameVals = new ArrayList<>(values.size());
+        List<Validation<List<String>, Email>> emailVals = new ArrayList<>(values.size());
+        List<Validation<List<String>, Optional<Integer>>> ageVals = new ArrayList<>(values.size());
+        Set<PersonName> validNames = new HashSet<>();
+        for (PersonForm value : values) {
+            Validation<List<String>, PersonName> nameVal = validateName(value);
+            if (nameVal.isSuccess())
+                validNames.add(nameVal.success());
+            nameVals.add(nameVal);
+            emailVals.add(validateEmail(value));
+            ageVals.add(validateAge(value));
+        }
+
+        Map<PersonName, Long> existingIds = userRepo.findIdsBy(validNames);
+
+        List<Validation<List<String>, Person>> result = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            result.add(Validation.combine(
+                    nameVals.get(i).chain(name -> doesNotExist(name, existingIds.containsKey(name))),
+                    emailVals.get(i),
+                    ageVals.get(i),
                     combineErrors,
-                    Person::new
-            );
+                    (name, email, oAge) -> new Person(name, email, oAge.orElse(null))
+            ));
+        }
+        return result;
+    }
+
+    private Validation<List<String>, PersonName> validateName(PersonForm value) {
+        Validation<List<String>, String> firstNameVal = required
+                .chain(maxLength(250))
+                .validate(value.firstName, FIRSTNAME);
+
+        Validation<List<String>, String> lastNameVal = required
+                .chain(maxLength(250))
+                .validate(value.lastName, LASTNAME);
+
+        return Validation.combine(
+                firstNameVal,
+                lastNameVal,
+                combineErrors, PersonName::new);
+    }
+
+    private Validation<List<String>, Email> validateEmail(PersonForm value) {
+        return required
+                .chain(
+                        combine(
+                                maxLength(100),
+                                containing("@"),
+                                takeFirst)
+                )
+                .map(Email::new)
+                .validate(value.email, EMAIL);
+    }
+
+    private Validation<List<String>, Optional<Integer>> validateAge(PersonForm value) {
+        return OfInt.optionalOr(OfInt.isInteger.between(0, 100))
+                .validate(value.age, AGE);
     }
 }
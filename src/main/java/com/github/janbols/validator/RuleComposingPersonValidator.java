@@ -5,34 +5,118 @@ import com.github.janbols.domain.Email;
 import com.github.janbols.domain.Person;
 import com.github.janbols.domain.PersonForm;
 import com.github.janbols.domain.PersonName;
+import com.github.janbols.validation.AsyncValidationRule;
+import com.github.janbols.validation.CompiledValidator;
+import com.github.janbols.validation.Errors;
+import com.github.janbols.validation.RuleCompiler;
 import com.github.janbols.validation.Validation;
 import com.github.janbols.validation.ValidationRule;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 import static com.github.janbols.domain.PersonForm.Field.*;
 import static com.github.janbols.validation.ValidationRule.*;
-import static com.google.common.collect.Lists.newArrayList;
 
 public class RuleComposingPersonValidator {
 
-    private final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
+    private static final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
 
     static ValidationRule<PersonName, PersonName> doesNotExistInUserRepo(UserRepo userRepo) {
-        return (value, target) -> Validation.condition(!userRepo.findIdBy(value).isPresent(),
-                newArrayList("Person with name " + value.first + " " + value.last + " already exists."),
+        return doesNotExist(name -> userRepo.findIdBy(name).isPresent());
+    }
+
+    private static ValidationRule<PersonName, PersonName> doesNotExist(Predicate<PersonName> exists) {
+        return (value, target) -> Validation.condition(!exists.test(value),
+                () -> Errors.of("Person with name " + value.first + " " + value.last + " already exists."),
                 value);
     }
 
 
-    private UserRepo userRepo;
+    private final UserRepo userRepo;
+    private final CompiledValidator<PersonForm, Person> validator;
+    private final CompiledValidator<PersonForm, PersonName> nameValidator = nameRule().compile(FORM);
+    private final CompiledValidator<PersonForm, Email> emailValidator = emailRule().compile(FORM);
+    private final CompiledValidator<PersonForm, Optional<Integer>> ageValidator = ageRule().compile(FORM);
 
     public RuleComposingPersonValidator(UserRepo userRepo) {
         this.userRepo = userRepo;
+        this.validator = personRule(userRepo).compile(FORM);
+    }
+
+    /**
+     * Creates a validator that prefetches: the user repo lookup starts on the given executor as soon as the name
+     * is valid, and the email and age are validated while it runs.
+     */
+    public RuleComposingPersonValidator(UserRepo userRepo, Executor lookupExecutor) {
+        this.userRepo = userRepo;
+        this.validator = prefetchingPersonRule(userRepo, lookupExecutor).compile(FORM);
     }
 
     public Validation<List<String>, Person> validate(PersonForm value) {
+        return validator.validate(value);
+    }
+
+    /**
+     * Validates all given forms with a single lookup in the user repo.
+     * The field rules of all forms run first, then the names that passed them are looked up at once.
+     *
+     * @return the validation of every form, in the order of the given forms
+     */
+    public List<Validation<List<String>, Person>> validateAll(List<PersonForm> values) {
+        List<Validation<List<String>, PersonName>> nameVals = new ArrayList<>(values.size());
+        List<Validation<List<String>, Email>> emailVals = new ArrayList<>(values.size());
+        List<Validation<List<String>, Optional<Integer>>> ageVals = new ArrayList<>(values.size());
+        Set<PersonName> validNames = new HashSet<>();
+        for (PersonForm value : values) {
+            Validation<List<String>, PersonName> nameVal = nameValidator.validate(value);
+            if (nameVal.isSuccess())
+                validNames.add(nameVal.success());
+            nameVals.add(nameVal);
+            emailVals.add(emailValidator.validate(value));
+            ageVals.add(ageValidator.validate(value));
+        }
+
+        Map<PersonName, Long> existingIds = userRepo.findIdsBy(validNames);
+        ValidationRule<PersonName, PersonName> doesNotExist = doesNotExist(existingIds::containsKey);
+
+        List<Validation<List<String>, Person>> result = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            result.add(Validation.combine(
+                    nameVals.get(i).chain(name -> doesNotExist.validate(name, FORM)),
+                    emailVals.get(i),
+                    ageVals.get(i),
+                    combineErrors, RuleComposingPersonValidator::person));
+        }
+        return result;
+    }
+
+    static ValidationRule<PersonForm, Person> personRule(UserRepo userRepo) {
+        return combine(
+                nameRule().chain(doesNotExistInUserRepo(userRepo)),
+                emailRule(),
+                ageRule(),
+                RuleComposingPersonValidator::person
+        );
+    }
+
+    static ValidationRule<PersonForm, Person> prefetchingPersonRule(UserRepo userRepo, Executor lookupExecutor) {
+        return AsyncValidationRule.combine(
+                AsyncValidationRule.of(RuleCompiler.compile(nameRule()))
+                        .chain(AsyncValidationRule.of(doesNotExistInUserRepo(userRepo), lookupExecutor)),
+                AsyncValidationRule.of(RuleCompiler.compile(emailRule())),
+                AsyncValidationRule.of(RuleCompiler.compile(ageRule())),
+                RuleComposingPersonValidator::person
+        ).join();
+    }
+
+    private static Person person(PersonName name, Email email, Optional<Integer> optionalAge) {
+        return new Person(name, email, optionalAge.orElse(null));
+    }
+
+    static ValidationRule<PersonForm, PersonName> nameRule() {
 
         ValidationRule<PersonForm, String> firstNameRule =
                 required
@@ -44,35 +128,23 @@ public class RuleComposingPersonValidator {
                         .chain(maxLength(250))
                         .from(f -> f.lastName, LASTNAME);
 
-        ValidationRule<PersonForm, PersonName> nameRule =
-                combine(firstNameRule, lastNameRule, PersonName::new)
-                        .chain(doesNotExistInUserRepo(userRepo));
+        return combine(firstNameRule, lastNameRule, PersonName::new);
+    }
 
-        ValidationRule<PersonForm, Email> emailRule =
-                required
-                        .chain(
-                                combine(
-                                        maxLength(100),
-                                        containing("@"), takeFirst
-                                )
+    static ValidationRule<PersonForm, Email> emailRule() {
+        return required
+                .chain(
+                        combine(
+                                maxLength(100),
+                                containing("@"), takeFirst
                         )
-                        .map(Email::new)
-                        .from(f -> f.email, EMAIL);
-
-        ValidationRule<PersonForm, Integer> ageRule =
-                optionalOr(isInteger.chain(between(0, 100)))
-                        .map(optionalAge -> optionalAge.orElse(null))
-                        .from(f -> f.age, AGE);
-
-        ValidationRule<PersonForm, Person> personRule =
-                combine(
-                        nameRule,
-                        emailRule,
-                        ageRule,
-                        Person::new
-                );
-
-        return personRule
-                .validate(value, FORM);
+                )
+                .map(Email::new)
+                .from(f -> f.email, EMAIL);
+    }
+
+    static ValidationRule<PersonForm, Optional<Integer>> ageRule() {
+        return OfInt.optionalOr(OfInt.isInteger.between(0, 100))
+                .from(f -> f.age, AGE);
     }
 }
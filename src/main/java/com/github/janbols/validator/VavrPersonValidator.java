@@ -25,7 +25,7 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 
 public class VavrPersonValidator {
 
-    private final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
+    private static final BiFunction<String, String, String> takeFirst = (s1, s2) -> s1;
 
     static ValidationRule<PersonName, PersonName> doesNotExistInUserRepo(UserRepo userRepo) {
         return (value, target) -> userRepo.findIdBy(value).isPresent() ?
@@ -34,13 +34,18 @@ public class VavrPersonValidator {
     }
 
 
-    private UserRepo userRepo;
+    private final ValidationRule<PersonForm, Person> personRule;
 
     public VavrPersonValidator(UserRepo userRepo) {
-        this.userRepo = userRepo;
+        this.personRule = personRule(userRepo);
     }
 
     public Validation<Seq<String>, Person> validate(PersonForm value) {
+        return personRule
+                .validate(value, FORM);
+    }
+
+    static ValidationRule<PersonForm, Person> personRule(UserRepo userRepo) {
 
         ValidationRule<PersonForm, String> firstNameRule =
                 required
@@ -72,16 +77,12 @@ public class VavrPersonValidator {
                         .map(optionalAge -> optionalAge.orElse(null))
                         .from(f -> f.age, AGE);
 
-        ValidationRule<PersonForm, Person> personRule =
-                combine(
-                        nameRule,
-                        emailRule,
-                        ageRule,
-                        Person::new
-                );
-
-        return personRule
-                .validate(value, FORM);
+        return combine(
+                nameRule,
+                emailRule,
+                ageRule,
+                Person::new
+        );
     }
 
 
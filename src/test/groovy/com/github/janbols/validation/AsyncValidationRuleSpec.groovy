@@ -0,0 +1,178 @@
+package com.github.janbols.validation
+
+import com.github.janbols.AsyncUserRepo
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.AsyncPersonValidator
+import com.github.janbols.validator.RuleComposingPersonValidator
+import fj.F3
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.BiFunction
+import java.util.function.Function
+
+import static com.github.janbols.domain.PersonForm.Field.AGE
+import static com.github.janbols.domain.PersonForm.Field.EMAIL
+import static com.github.janbols.validation.ValidationRule.*
+
+class AsyncValidationRuleSpec extends Specification {
+
+    def executor = Executors.newFixedThreadPool(4)
+
+    def userRepo = new UserRepo.InMemory([
+            1L : new PersonName("Donaldo", "Trumpo")
+            , 2L: new PersonName("Mata", "Hari")
+    ])
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+
+    def "a lifted rule gives the same result as the rule itself"() {
+        given:
+        def rule = required.chain(combine(maxLength(10), containing("@"), { s1, s2 -> s1 } as BiFunction))
+
+        expect:
+        AsyncValidationRule.of(rule).validate(value, EMAIL).get().fail() == rule.validate(value, EMAIL).fail()
+        AsyncValidationRule.of(rule, executor).validate(value, EMAIL).get().fail() == rule.validate(value, EMAIL).fail()
+
+        where:
+        value << ["foobar.com" * 2, " "]
+    }
+
+    def "combined rules run at the same time and accumulate their errors in order"() {
+        given:
+        def bothStarted = new CountDownLatch(2)
+        def failingWhenBothStarted = { String error ->
+            AsyncValidationRule.of({ value, target ->
+                bothStarted.countDown()
+                assert bothStarted.await(5, TimeUnit.SECONDS)
+                Validation.fail(Errors.of(error))
+            } as ValidationRule, executor)
+        }
+
+        when:
+        def result = failingWhenBothStarted("first")
+                .combine(failingWhenBothStarted("second"), { a, b -> a } as BiFunction)
+                .validate("value", AGE)
+                .get(10, TimeUnit.SECONDS)
+
+        then:
+        result.fail() == ["first", "second"]
+    }
+
+    def "a chained rule only runs when the rule before it succeeded"() {
+        given:
+        def calls = 0
+        AsyncValidationRule<String, Integer> counting = { value, target ->
+            calls++
+            CompletableFuture.completedFuture(Validation.success(value.length()))
+        }
+
+        when:
+        def rule = AsyncValidationRule.of(required).chain(counting)
+
+        then:
+        rule.validate("abc", AGE).get().success() == 3
+        rule.validate(" ", AGE).get().fail() == ["age can not be empty."]
+        calls == 1
+    }
+
+    def "a synchronous rule is chained once the rule before it succeeded"() {
+        when:
+        def rule = AsyncValidationRule.of(required).chainSync(maxLength(3))
+
+        then:
+        rule.validate("abc", AGE).get().success() == "abc"
+        rule.validate("abcd", AGE).get().fail() == ["age has exceed max length of 3 characters."]
+    }
+
+    def "a lifted rule that throws returns a failed future"() {
+        given:
+        def rule = AsyncValidationRule.of({ value, target -> throw new IllegalStateException("boom") } as ValidationRule)
+
+        when:
+        def result = rule.validate("abc", AGE)
+
+        then:
+        result.isCompletedExceptionally()
+    }
+
+    def "an extractor that throws returns a failed future"() {
+        given:
+        def extractor = { value -> throw new IllegalStateException("boom") } as Function
+        def rule = AsyncValidationRule.of(required)
+
+        expect:
+        rule.contraMap(extractor).validate("abc", AGE).isCompletedExceptionally()
+        rule.from(extractor, AGE).validate("abc", EMAIL).isCompletedExceptionally()
+    }
+
+    @Unroll
+    def "a combine of #branches rules with one that throws fails once the started rules completed"() {
+        given:
+        def release = new CountDownLatch(1)
+        def slow = AsyncValidationRule.of({ value, target ->
+            assert release.await(5, TimeUnit.SECONDS)
+            Validation.success(value)
+        } as ValidationRule, executor)
+        AsyncValidationRule<String, String> throwing = { value, target -> throw new IllegalStateException("boom") }
+
+        when:
+        def result = branches == 2 ?
+                slow.combine(throwing, { a, b -> a } as BiFunction).validate("value", AGE) :
+                slow.combine(slow, throwing, { a, b, c -> a } as F3).validate("value", AGE)
+
+        then:
+        !result.isDone()
+
+        when:
+        release.countDown()
+        result.get(10, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof IllegalStateException
+
+        where:
+        branches << [2, 3]
+    }
+
+    @Unroll
+    def "the async person validator gives the same result as the rule composing one for #form"() {
+        given:
+        def expected = new RuleComposingPersonValidator(userRepo).validate(form)
+
+        when:
+        def result = new AsyncPersonValidator(new AsyncUserRepo.Blocking(userRepo, executor)).validate(form).get()
+
+        then:
+        result.isSuccess() == expected.isSuccess()
+        result.isSuccess() ? result.success() == expected.success() : result.fail() == expected.fail()
+
+        where:
+        form << [
+                new PersonForm("Jan", "Bols", "foo@bar.com", "32"),
+                new PersonForm("Jan", null, "foo@bar.com", "brol"),
+                new PersonForm("Donaldo", "Trumpo", "foobar.com", "5"),
+        ]
+    }
+
+    def "an async repo finds many names at once"() {
+        given:
+        AsyncUserRepo asyncRepo = { name -> CompletableFuture.completedFuture(userRepo.findIdBy(name)) }
+        def names = [new PersonName("Mata", "Hari"), new PersonName("Jan", "Bols")]
+
+        expect:
+        asyncRepo.findIdsBy(names).get() == [(new PersonName("Mata", "Hari")): 2L]
+        new AsyncUserRepo.Blocking(userRepo, executor).findIdsBy(names).get() == [(new PersonName("Mata", "Hari")): 2L]
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+
+class BloomFilteredUserRepoSpec extends Specification {
+
+    def trumpo = new PersonName("Donaldo", "Trumpo")
+    def bols = new PersonName("Jan", "Bols")
+
+    def db = [1L: trumpo]
+    def lookups = 0
+
+    def delegate = new UserRepo() {
+        @Override
+        Optional<Long> findIdBy(PersonName name) {
+            lookups++
+            return Optional.ofNullable(db.find { it.value == name }?.key)
+        }
+    }
+
+    def repo = new UserRepo.BloomFiltered(delegate, db.values(), 1000, 0.001)
+
+
+    def "names that don't exist are answered without a lookup"() {
+        expect:
+        repo.findIdBy(trumpo) == Optional.of(1L)
+        repo.findIdBy(bols) == Optional.empty()
+        lookups == 1
+        repo.avoidedLookups() == 1
+    }
+
+    def "registered names are looked up"() {
+        given:
+        db[2L] = bols
+
+        when:
+        repo.register(bols)
+
+        then:
+        repo.findIdBy(bols) == Optional.of(2L)
+        repo.findIdsBy([trumpo, bols, new PersonName("Mata", "Hari")]) == [(trumpo): 1L, (bols): 2L]
+        repo.avoidedLookups() == 1
+    }
+
+    def "validators answer new names from the filter"() {
+        given:
+        def validator = new RuleComposingPersonValidator(repo)
+
+        when:
+        def results = (1..100).collect { validator.validate(new PersonForm("Jan$it", "Bols", "foo@bar.com", "32")) }
+
+        then:
+        results.every { it.isSuccess() }
+        repo.avoidedLookups() + lookups == 100
+        lookups < 5
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.bulk.BulkValidationPipeline
+import com.github.janbols.bulk.RecordFormat
+import com.github.janbols.bulk.RecordSink
+import com.github.janbols.domain.Email
+import com.github.janbols.domain.Person
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+
+class BulkValidationPipelineSpec extends Specification {
+
+    def validator = new RuleComposingPersonValidator(new UserRepo.InMemory([1L: new PersonName("Donaldo", "Trumpo")]))
+
+    def input = Files.createTempFile("persons", ".txt")
+    def valid = []
+    def errors = [:]
+    def validSink = { lineNumber, person -> valid << person } as RecordSink
+    def errorSink = { lineNumber, errors -> this.errors[lineNumber] = errors } as RecordSink
+
+    def cleanup() {
+        Files.deleteIfExists(input)
+    }
+
+
+    def "valid persons and the errors of invalid records are written to their own sink"() {
+        given:
+        Files.write(input, [
+                'Jan,Bols,foo@bar.com,32',
+                'Donaldo,Trumpo,foobar.com,5',
+                '"Bols, Jr.",Jan,"foo@bar.com",',
+                'Jan,Bols',
+        ])
+
+        when:
+        def summary = new BulkValidationPipeline(validator.&validate, 2, 1, 2)
+                .run(input, RecordFormat.CSV, validSink, errorSink)
+
+        then:
+        summary.valid == 2
+        summary.invalid == 2
+        valid == [
+                new Person(new PersonName("Jan", "Bols"), new Email("foo@bar.com"), 32),
+                new Person(new PersonName("Bols, Jr.", "Jan"), new Email("foo@bar.com"), null),
+        ]
+        errors.keySet() == [2L, 4L] as Set
+        errors[2L] == validator.validate(new PersonForm("Donaldo", "Trumpo", "foobar.com", "5")).fail()
+        errors[4L] == ["Record is not valid CSV: expected 4 fields but found 2."]
+    }
+
+    def "JSON lines are validated like CSV lines"() {
+        given:
+        input.text = """\
+            {"firstName": "Jan", "lastName": "Bols", "email": "foo@bar.com", "age": 32}
+            {"firstName":"Donaldo","lastName":"Trumpo","email":"foo@bar.com","age":null,"extra":"ignored"}
+            {"firstName": "Jan"
+            """.stripIndent()
+
+        when:
+        def summary = new BulkValidationPipeline(validator.&validate, 10, 4, 1)
+                .run(input, RecordFormat.JSON_LINES, validSink, errorSink)
+
+        then:
+        summary.records() == 3
+        valid == [new Person(new PersonName("Jan", "Bols"), new Email("foo@bar.com"), 32)]
+        errors[2L] == ["Person with name Donaldo Trumpo already exists."]
+        errors[3L][0].startsWith("Record is not valid JSON_LINES")
+    }
+
+    def "the records of a large file keep their order, whatever the number of validators"() {
+        given:
+        Files.write(input, ["firstName,lastName,email,age"] + (1..10_000).collect { "Jan$it,Bols,foo@bar.com,${it % 150}" })
+        def lineNumbers = []
+        def sink = { lineNumber, record -> lineNumbers << lineNumber } as RecordSink
+
+        when:
+        def summary = new BulkValidationPipeline(validator.&validate, 64, 2, 4)
+                .run(input, RecordFormat.CSV_WITH_HEADER, sink, sink)
+
+        then:
+        summary.records() == 10_000
+        summary.invalid == (1..10_000).count { it % 150 > 100 }
+        lineNumbers == (2L..10_001L).toList()
+    }
+
+    def "a failing sink fails the whole run"() {
+        given:
+        Files.write(input, (1..1000).collect { "Jan$it,Bols,foo@bar.com,32" })
+        def failingSink = { lineNumber, person -> throw new IOException("disk full") } as RecordSink
+
+        when:
+        new BulkValidationPipeline(validator.&validate, 1, 1, 2).run(input, RecordFormat.CSV, failingSink, errorSink)
+
+        then:
+        def e = thrown(IOException)
+        e.message == "disk full"
+    }
+
+    @Unroll
+    def "#format parses #line"() {
+        expect:
+        format.parse(line) == form
+
+        where:
+        format                  | line                                                       | form
+        RecordFormat.CSV        | 'Jan,Bols,foo@bar.com,32'                                  | new PersonForm("Jan", "Bols", "foo@bar.com", "32")
+        RecordFormat.CSV        | '"Jan ""J""",,"",'                                         | new PersonForm('Jan "J"', null, "", null)
+        RecordFormat.JSON_LINES | '{"firstName":"J\\u00e1n\\n","age":"32"}'                  | new PersonForm("J\u00e1n\n", null, null, "32")
+        RecordFormat.JSON_LINES | ' { } '                                                    | new PersonForm(null, null, null, null)
+    }
+
+    def "written records can be read back"() {
+        given:
+        def persons = Files.createTempFile("valid", ".csv")
+        def report = Files.createTempFile("errors", ".jsonl")
+
+        when:
+        RecordSink.persons(persons).withCloseable {
+            it.write(1, new Person(new PersonName('Jan "J"', "Bols, Jr."), new Email("foo@bar.com"), null))
+        }
+        RecordSink.errorReport(report).withCloseable { it.write(7, ['a "quoted"\nerror', "another"]) }
+
+        then:
+        RecordFormat.CSV.parse(persons.text.trim()) == new PersonForm('Jan "J"', "Bols, Jr.", "foo@bar.com", null)
+        report.text == '{"line":7,"errors":["a \\"quoted\\"\\u000aerror","another"]}' + System.lineSeparator()
+
+        cleanup:
+        Files.deleteIfExists(persons)
+        Files.deleteIfExists(report)
+    }
+
+    def "a record with a line break in a field is invalid, so the persons file has a line per valid record"() {
+        given:
+        def persons = Files.createTempFile("valid", ".csv")
+        def report = Files.createTempFile("errors", ".jsonl")
+        input.text = """\
+            {"firstName":"Jan\\nX","lastName":"Bols","email":"a@b.c","age":3}
+            {"firstName":"Jan","lastName":"Bols\\r","email":"a@b.c","age":3}
+            {"firstName":"Jan","lastName":"Bols","email":"a@b.c","age":3}
+            """.stripIndent()
+
+        when:
+        def summary = RecordSink.persons(persons).withCloseable { validOutput ->
+            RecordSink.errorReport(report).withCloseable { errorOutput ->
+                new BulkValidationPipeline(validator.&validate, 2, 1, 2)
+                        .run(input, RecordFormat.JSON_LINES, validOutput, errorOutput)
+            }
+        }
+
+        then:
+        summary.valid == 1
+        summary.invalid == 2
+        persons.readLines().collect { RecordFormat.CSV.parse(it) } == [new PersonForm("Jan", "Bols", "a@b.c", "3")]
+        report.readLines() == [
+                '{"line":1,"errors":["Record has a line break in a field."]}',
+                '{"line":2,"errors":["Record has a line break in a field."]}',
+        ]
+
+        cleanup:
+        Files.deleteIfExists(persons)
+        Files.deleteIfExists(report)
+    }
+
+    def "a person with a line break in a field is not written"() {
+        given:
+        def persons = Files.createTempFile("valid", ".csv")
+
+        when:
+        RecordSink.persons(persons).withCloseable {
+            it.write(1, new Person(new PersonName("Jan\nX", "Bols"), new Email("a@b.c"), 3))
+        }
+
+        then:
+        thrown(IllegalArgumentException)
+
+        cleanup:
+        Files.deleteIfExists(persons)
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonName
+import com.google.common.base.Ticker
+import spock.lang.Specification
+
+import java.time.Duration
+
+class CachingUserRepoSpec extends Specification {
+
+    def trumpo = new PersonName("Donaldo", "Trumpo")
+    def bols = new PersonName("Jan", "Bols")
+
+    def db = [1L: trumpo]
+    def lookups = 0
+    def nanos = 0L
+
+    def delegate = new UserRepo() {
+        @Override
+        Optional<Long> findIdBy(PersonName name) {
+            lookups++
+            return Optional.ofNullable(db.find { it.value == name }?.key)
+        }
+    }
+
+    def repo = new UserRepo.Caching(delegate, 100, Duration.ofMinutes(10), Duration.ofMinutes(1),
+            { nanos } as Ticker)
+
+
+    def "hits and misses are both cached"() {
+        when:
+        def first = [repo.findIdBy(trumpo), repo.findIdBy(bols)]
+        def second = [repo.findIdBy(trumpo), repo.findIdBy(bols)]
+
+        then:
+        first == [Optional.of(1L), Optional.empty()]
+        second == first
+        lookups == 2
+        repo.stats().hitCount() == 2
+        repo.stats().missCount() == 2
+    }
+
+    def "misses expire before hits"() {
+        given:
+        repo.findIdBy(trumpo)
+        repo.findIdBy(bols)
+        db[2L] = bols
+
+        when:
+        nanos += Duration.ofMinutes(2).toNanos()
+
+        then:
+        repo.findIdBy(bols) == Optional.of(2L)
+        repo.findIdBy(trumpo) == Optional.of(1L)
+        lookups == 3
+    }
+
+    def "a registered name is no longer reported missing once invalidated"() {
+        given:
+        repo.findIdBy(bols)
+        db[2L] = bols
+
+        when:
+        repo.invalidate(bols)
+
+        then:
+        repo.findIdBy(bols) == Optional.of(2L)
+    }
+
+    def "a miss that is being looked up while its name gets registered is not cached"() {
+        given:
+        def caches = []
+        def racing = new UserRepo.Caching(new UserRepo() {
+            @Override
+            Optional<Long> findIdBy(PersonName name) {
+                def found = delegate.findIdBy(name)
+                db[2L] = bols
+                caches[0].invalidate(bols)
+                return found
+            }
+        }, 100, Duration.ofMinutes(10), Duration.ofMinutes(1))
+        caches << racing
+
+        when:
+        def first = racing.findIdBy(bols)
+
+        then:
+        first == Optional.empty()
+        racing.findIdBy(bols) == Optional.of(2L)
+        racing.findIdsBy([bols]) == [(bols): 2L]
+    }
+
+    def "only names that aren't cached are looked up in bulk"() {
+        given:
+        repo.findIdBy(trumpo)
+
+        when:
+        def ids = repo.findIdsBy([trumpo, bols])
+
+        then:
+        ids == [(trumpo): 1L]
+        lookups == 2
+        repo.findIdsBy([trumpo, bols]) == ids
+        lookups == 2
+    }
+
+    def "the least recently used names are evicted"() {
+        given:
+        def small = new UserRepo.Caching(delegate, 1, Duration.ofMinutes(10), Duration.ofMinutes(1))
+
+        when:
+        small.findIdBy(trumpo)
+        small.findIdBy(bols)
+        small.findIdBy(new PersonName("Mata", "Hari"))
+
+        then:
+        small.stats().evictionCount() == 1
+    }
+}
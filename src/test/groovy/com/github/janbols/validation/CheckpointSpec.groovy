@@ -0,0 +1,100 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.bulk.Checkpoint
+import com.github.janbols.bulk.MappedBulkValidator
+import com.github.janbols.bulk.RecordFormat
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.concurrent.atomic.AtomicInteger
+
+class CheckpointSpec extends Specification {
+
+    def validator = new RuleComposingPersonValidator(new UserRepo.InMemory([1L: new PersonName("Donaldo", "Trumpo")]))
+
+    def dir = Files.createTempDirectory("bulk")
+    def input = dir.resolve("persons.csv")
+    def checkpoint = dir.resolve("persons.checkpoint")
+
+    def setup() {
+        Files.write(input, ["firstName,lastName,email,age"] +
+                (1..2000).collect { "Jan$it,Bols,foo$it${it % 7 ? '@' : ''}bar.com,${it % 130}" })
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def run(String name, validate) {
+        new MappedBulkValidator(validate, 3, 500).run(input, RecordFormat.CSV_WITH_HEADER,
+                dir.resolve(name + ".valid.csv"), dir.resolve(name + ".errors.jsonl"), checkpoint, 2000)
+    }
+
+    def killedAfter(int records) {
+        def validated = new AtomicInteger()
+        return { form ->
+            if (validated.incrementAndGet() > records)
+                throw new IllegalStateException("killed")
+            validator.validate(form)
+        }
+    }
+
+
+    def "a resumed validation writes the same outputs as one that was never interrupted"() {
+        given:
+        def expected = run("expected", validator.&validate)
+
+        when:
+        run("resumed", killedAfter(1500))
+
+        then:
+        thrown(IOException)
+        Files.exists(checkpoint)
+
+        when:
+        def interrupted = Checkpoint.read(checkpoint).get()
+        def resumed = run("resumed", validator.&validate)
+
+        then:
+        interrupted.inputOffset > 0
+        interrupted.nextLineNumber > 2
+        interrupted.validOutputBytes <= Files.size(dir.resolve("expected.valid.csv"))
+        resumed.valid == expected.valid
+        resumed.invalid == expected.invalid
+        dir.resolve("resumed.valid.csv").bytes == dir.resolve("expected.valid.csv").bytes
+        dir.resolve("resumed.errors.jsonl").bytes == dir.resolve("expected.errors.jsonl").bytes
+        !Files.exists(checkpoint)
+    }
+
+    def "a checkpoint of another input is refused"() {
+        given:
+        Files.write(checkpoint, [])
+
+        when:
+        run("other", validator.&validate)
+
+        then:
+        def e = thrown(IOException)
+        e.message.contains("not a bulk validation checkpoint")
+    }
+
+    def "a corrupt checkpoint is refused"() {
+        given:
+        try {
+            run("killed", killedAfter(1500))
+        } catch (IOException ignored) {
+        }
+        def bytes = checkpoint.bytes
+        bytes[20] ^= 1
+        checkpoint.bytes = bytes
+
+        when:
+        Checkpoint.read(checkpoint)
+
+        then:
+        thrown(IOException)
+    }
+}
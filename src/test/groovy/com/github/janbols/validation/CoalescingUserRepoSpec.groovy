@@ -0,0 +1,136 @@
+package com.github.janbols.validation
+
+import com.github.janbols.CoalescingUserRepo
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonName
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class CoalescingUserRepoSpec extends Specification {
+
+    def trumpo = new PersonName("Donaldo", "Trumpo")
+    def hari = new PersonName("Mata", "Hari")
+    def bols = new PersonName("Jan", "Bols")
+
+    def lookups = Collections.synchronizedList([])
+    def lookupStarted = new CountDownLatch(1)
+    def finishLookup = new CountDownLatch(1)
+    def delegate = new UserRepo.InMemory([1L: trumpo, 2L: hari]) {
+        @Override
+        Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+            lookups << names
+            lookupStarted.countDown()
+            assert finishLookup.await(5, TimeUnit.SECONDS)
+            return super.findIdsBy(names)
+        }
+    }
+
+    def executor = Executors.newFixedThreadPool(4)
+    CoalescingUserRepo repo
+
+    def cleanup() {
+        executor.shutdownNow()
+        repo?.close()
+    }
+
+
+    def "concurrent lookups of the same name share a single lookup"() {
+        given:
+        repo = new CoalescingUserRepo(delegate, Duration.ZERO, 16)
+
+        when:
+        def first = executor.submit({ repo.findIdBy(trumpo) } as Callable)
+        lookupStarted.await(5, TimeUnit.SECONDS)
+        def others = (1..3).collect { executor.submit({ repo.findIdBy(trumpo) } as Callable) }
+        new PollingConditions(timeout: 5).eventually { assert repo.coalescedLookups() == 3 }
+        finishLookup.countDown()
+
+        then:
+        ([first] + others)*.get(5, TimeUnit.SECONDS) == [Optional.of(1L)] * 4
+        lookups == [[trumpo]]
+    }
+
+    def "different names are looked up in a single batch once it is full"() {
+        given:
+        finishLookup.countDown()
+        repo = new CoalescingUserRepo(delegate, Duration.ofMinutes(1), 3)
+
+        when:
+        def results = [trumpo, hari, bols]
+                .collect { name -> executor.submit({ repo.findIdBy(name) } as Callable) }
+                *.get(5, TimeUnit.SECONDS)
+
+        then:
+        results == [Optional.of(1L), Optional.of(2L), Optional.empty()]
+        lookups.size() == 1
+        lookups[0] as Set == [trumpo, hari, bols] as Set
+        repo.batchSizes().count() == 1
+        repo.batchSizes().valueAtPercentile(100) == 3
+        repo.waitNanos().count() == 3
+    }
+
+    def "a batch that is not full is looked up once its window has passed"() {
+        given:
+        finishLookup.countDown()
+        repo = new CoalescingUserRepo(delegate, Duration.ofMillis(10), 100)
+
+        expect:
+        repo.findIdsBy([trumpo, bols, trumpo]) == [(trumpo): 1L]
+        lookups.size() == 1
+        repo.waitNanos().valueAtPercentile(100) >= TimeUnit.MILLISECONDS.toNanos(10) / 2
+    }
+
+    def "a failing lookup fails all the lookups that shared it"() {
+        given:
+        repo = new CoalescingUserRepo({ name -> throw new IllegalStateException("repo is down") } as UserRepo,
+                Duration.ZERO, 16)
+
+        when:
+        repo.findIdBy(trumpo)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "repo is down"
+    }
+
+    def "lookups racing with closing the repo are either answered or failed"() {
+        given:
+        repo = new CoalescingUserRepo(new UserRepo.InMemory([1L: trumpo]), Duration.ofMillis(1), 16)
+        def names = (1..200).collect { new PersonName("Jan$it", "Bols") }
+        def results = names.collect { name -> executor.submit({ repo.findIdBy(name) } as Callable) }
+
+        when:
+        repo.close()
+
+        then:
+        results.every { result ->
+            try {
+                result.get(5, TimeUnit.SECONDS) == Optional.empty()
+            } catch (ExecutionException e) {
+                e.cause instanceof IllegalStateException
+            }
+        }
+    }
+
+    def "a histogram reports percentiles as the upper bound of their power of two"() {
+        given:
+        def histogram = new CoalescingUserRepo.Histogram()
+
+        when:
+        (1..100).each { histogram.record(it) }
+
+        then:
+        histogram.count() == 100
+        histogram.mean() == 50.5d
+        histogram.valueAtPercentile(50) == 63
+        histogram.valueAtPercentile(99) == 127
+        new CoalescingUserRepo.Histogram().valueAtPercentile(99) == 0
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.janbols.validation
+
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonFormBatch
+import com.github.janbols.validator.RuleComposingPersonValidator
+import fj.F3
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.function.BiFunction
+
+import static com.github.janbols.domain.PersonForm.Field.*
+import static com.github.janbols.validation.ValidationRule.*
+
+class ColumnarValidatorSpec extends Specification {
+
+    def takeFirst = { s1, s2 -> s1 } as BiFunction
+
+    def maxNameLength = maxLength(250)
+    def maxEmailLength = maxLength(100)
+    def containingAt = containing("@")
+    def between0And100 = between(0, 100)
+
+    def validator = ColumnarValidator.builder()
+            .column(FIRSTNAME, required.chain(maxNameLength))
+            .column(LASTNAME, required.chain(maxNameLength))
+            .column(EMAIL, required.chain(combine(maxEmailLength, containingAt, takeFirst)))
+            .optionalColumn(AGE, isInteger.chain(between0And100))
+            .build()
+
+    def forms = [
+            new PersonForm("Jan", "Bols", "foo@bar.com", "32"),
+            new PersonForm("Jan", null, "foo@bar.com", "brol"),
+            new PersonForm(null, "  ", null, "-5"),
+            new PersonForm("Donaldo", "Trumpo", "foobar.com", ""),
+            new PersonForm("Jan", "x" * 251, "foobar.com" + "x" * 100, "101"),
+            new PersonForm("Mata", "Hari", "mata@hari.com", null),
+    ]
+
+    def "a batch gets the same errors as its forms validated one by one"() {
+        given:
+        def fieldsRule = combine(
+                RuleComposingPersonValidator.nameRule(),
+                RuleComposingPersonValidator.emailRule(),
+                RuleComposingPersonValidator.ageRule(),
+                { name, email, age -> name } as F3)
+
+        when:
+        def result = validator.validate(PersonFormBatch.of(forms))
+
+        then:
+        result.size() == forms.size()
+        forms.indices.each { row ->
+            def expected = fieldsRule.validate(forms[row], FORM)
+            assert result.isValid(row) == expected.isSuccess()
+            assert result.errors(row) == (expected.isSuccess() ? [] : expected.fail())
+        }
+    }
+
+    def "every check marks the rows that failed it"() {
+        when:
+        def result = validator.validate(PersonFormBatch.of(forms))
+
+        then:
+        result.failures(FIRSTNAME, required) == rows(2)
+        result.failures(LASTNAME, required) == rows(1, 2)
+        result.failures(LASTNAME, maxNameLength) == rows(4)
+        result.failures(EMAIL, maxEmailLength) == rows(4)
+        result.failures(EMAIL, containingAt) == rows(3, 4)
+        result.failures(AGE, isInteger) == rows(1)
+        result.failures(AGE, between0And100) == rows(2, 4)
+        result.invalidRows() == rows(1, 2, 3, 4)
+    }
+
+    def "a row is only checked by the stages after the ones it passed"() {
+        when:
+        def result = validator.validate(PersonFormBatch.of(forms))
+
+        then: "the null and blank last names are not checked for their length"
+        !result.failures(LASTNAME, maxNameLength).intersects(result.failures(LASTNAME, required))
+        result.errors(2) == ["first name can not be empty.", "last name can not be empty.",
+                             "email can not be empty.", "age must be between 0 and 100."]
+    }
+
+    def "rules that are not made of built-in checks can't validate a column"() {
+        when:
+        ColumnarValidator.builder().column(EMAIL, rule)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        rule << [
+                { value, target -> Validation.success(value) } as ValidationRule,
+                required.map { it.trim() }.chain(maxLength(10)),
+                between(0, 100),
+        ]
+    }
+
+    def "a batch can be refilled"() {
+        given:
+        def batch = new PersonFormBatch(2)
+        batch.add(forms[0])
+        batch.add(forms[1])
+
+        when:
+        batch.add(forms[2])
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        batch.clear()
+        batch.add(forms[3])
+
+        then:
+        batch.size() == 1
+        batch.get(0) == forms[3]
+        batch.column(EMAIL) == ["foobar.com", null] as String[]
+        validator.validate(batch).invalidRows() == rows(0)
+    }
+
+    @Unroll
+    def "the loaded kernels mark the same rows as the scalar kernels when checking #check"() {
+        given:
+        String[] values = [null, "", " ", "\t\u2003 ", "\u00a0", " " * 40 + "x", " " * 70, "Jan", "foo@bar.com",
+                           "@", "foobar@", "x" * 40 + "@" + "y" * 40, "x" * 100, "ab" * 30 + "a", "abc@",
+                           "0", "-0", "-", "+1", "32", "-5", "123456789", "1234567890", "2147483647", "2147483648",
+                           "-2147483648", "-2147483649", "12a", "\u0661\u0662", "0" * 40 + "7", "9" * 40,
+                           "\u2003" * 40, "\u00a0" * 40, " " * 33 + "\u0661", "x" * 63 + "@", "x" * 70 + "b" + "a",
+                           "0" * 40, "-" + "0" * 40, "0" * 30 + "2147483647", "0" * 30 + "2147483648",
+                           "-" + "0" * 30 + "2147483648", "-" + "0" * 30 + "2147483649", "0" * 30 + "123456789",
+                           "-" + "0" * 30 + "123456789", "0" * 30 + "12a", "0" * 30 + "-1", "-" * 40]
+        def rows = new BitSet()
+        rows.set(0, values.length)
+        rows.clear(7)
+
+        expect:
+        outcome(ColumnKernels.load(), values, rows) == outcome(ColumnKernels.SCALAR, values, rows)
+
+        where:
+        check                 | outcome
+        "required"            | { kernels, column, checked -> failures { kernels.required(column, checked, it) } }
+        "containing @"        | { kernels, column, checked -> failures { kernels.containing(column, "@", checked, it) } }
+        "containing ba"       | { kernels, column, checked -> failures { kernels.containing(column, "ba", checked, it) } }
+        "containing nothing"  | { kernels, column, checked -> failures { kernels.containing(column, "", checked, it) } }
+        "isInteger"           | { kernels, column, checked ->
+            def ints = new int[column.length]
+            [failures { kernels.isInteger(column, ints, checked, it) }, ints.toList()]
+        }
+    }
+
+    private static BitSet failures(Closure check) {
+        def failures = new BitSet()
+        check(failures)
+        failures
+    }
+
+    private static BitSet rows(int... rows) {
+        def bits = new BitSet()
+        rows.each { bits.set(it) }
+        bits
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.janbols.validation
+
+import com.github.janbols.CompactUserRepo
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonName
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CompactUserRepoSpec extends Specification {
+
+    def db = (0L..<1000L).collectEntries { [(it): new PersonName("First$it", "Last${it % 37}")] }
+
+    def inMemory = new UserRepo.InMemory(db)
+    def compact = new CompactUserRepo(db)
+
+
+    @Unroll
+    def "finds the same id as the in memory repo for #name"() {
+        expect:
+        compact.findIdBy(name) == inMemory.findIdBy(name)
+
+        where:
+        name << [
+                new PersonName("First0", "Last0"),
+                new PersonName("First999", "Last0"),
+                new PersonName("First999", "Last1"),
+                new PersonName("First1000", "Last1"),
+                new PersonName("Last0", "First0"),
+                new PersonName("Fi", "rst0Last0"),
+        ]
+    }
+
+    def "finds every user"() {
+        expect:
+        db.every { id, name -> compact.findIdBy(new PersonName(name.first, name.last)) == Optional.of(id) }
+        compact.size() == 1000
+        compact.findIdsBy(db.values()) == inMemory.findIdsBy(db.values())
+    }
+
+    def "a name can only be used once"() {
+        when:
+        new CompactUserRepo([1L: new PersonName("Jan", "Bols"), 2L: new PersonName("Jan", "Bols")])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "an empty repo finds nothing"() {
+        expect:
+        new CompactUserRepo([:]).findIdBy(new PersonName("Jan", "Bols")) == Optional.empty()
+    }
+}
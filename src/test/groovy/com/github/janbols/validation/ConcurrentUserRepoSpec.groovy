@@ -0,0 +1,110 @@
+package com.github.janbols.validation
+
+import com.github.janbols.ConcurrentUserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.ReservingPersonValidator
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ConcurrentUserRepoSpec extends Specification {
+
+    def trumpo = new PersonName("Donaldo", "Trumpo")
+    def bols = new PersonName("Jan", "Bols")
+
+    def repo = new ConcurrentUserRepo([1L: trumpo])
+
+
+    def "a name can only be reserved when it is free"() {
+        when:
+        def reservation = repo.reserveIfAbsent(bols)
+
+        then:
+        reservation.isPresent()
+        !repo.reserveIfAbsent(bols).isPresent()
+        !repo.reserveIfAbsent(trumpo).isPresent()
+        repo.findIdBy(bols) == Optional.empty()
+        repo.isReserved(bols)
+    }
+
+    def "a committed reservation registers the name"() {
+        given:
+        def reservation = repo.reserveIfAbsent(bols).get()
+
+        when:
+        reservation.commit(2)
+        reservation.release()
+
+        then:
+        repo.findIdBy(bols) == Optional.of(2L)
+        !repo.isReserved(bols)
+
+        when:
+        reservation.commit(3)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "a released reservation frees the name"() {
+        when:
+        repo.reserveIfAbsent(bols).get().release()
+
+        then:
+        repo.reserveIfAbsent(bols).isPresent()
+    }
+
+    def "only one of many concurrent reservations of a name wins"() {
+        given:
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+
+        when:
+        def reservations = (1..64).collect {
+            executor.submit({ start.await(); repo.reserveIfAbsent(bols) } as Callable)
+        }
+        start.countDown()
+        def winners = reservations*.get().findAll { it.isPresent() }
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+
+        then:
+        winners.size() == 1
+    }
+
+    def "a valid form holds the reservation of its name until it is registered"() {
+        given:
+        def validator = new ReservingPersonValidator(repo)
+
+        when:
+        def result = validator.validate(new PersonForm("Jan", "Bols", "foo@bar.com", "32"))
+
+        then:
+        result.isSuccess()
+        result.success().person.name == bols
+        validator.validate(new PersonForm("Jan", "Bols", "foo@bar.com", "32")).fail() ==
+                ["Person with name Jan Bols already exists."]
+
+        when:
+        result.success().register(2)
+
+        then:
+        repo.findIdBy(bols) == Optional.of(2L)
+    }
+
+    def "an invalid form releases the reservation of its name"() {
+        given:
+        def validator = new ReservingPersonValidator(repo)
+
+        when:
+        def result = validator.validate(new PersonForm("Jan", "Bols", "foobar.com", "32"))
+
+        then:
+        result.isFail()
+        !repo.isReserved(bols)
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.janbols.validation
+
+import spock.lang.Specification
+
+class ErrorsSpec extends Specification {
+
+    def "concatenated errors read in order"() {
+        when:
+        def errors = Errors.concat(Errors.concat(Errors.of("a"), Errors.of("b", "c")), ["d"])
+
+        then:
+        errors == ["a", "b", "c", "d"]
+        errors.size() == 4
+        errors.get(2) == "c"
+    }
+
+    def "appending empty errors returns the same instance"() {
+        given:
+        def errors = Errors.of("a")
+
+        expect:
+        errors.append(Errors.empty()).is(errors)
+        Errors.empty().append(errors).is(errors)
+    }
+
+    def "deeply nested concatenations can be read"() {
+        given:
+        def errors = Errors.empty()
+        10000.times { errors = Errors.concat(errors, Errors.of("error " + it)) }
+
+        expect:
+        errors.size() == 10000
+        errors.first() == "error 0"
+        errors.last() == "error 9999"
+    }
+
+    def "errors accumulate through the semigroup"() {
+        when:
+        def result = Validation.fail(Errors.of("a"))
+                .accumulate(Errors.semigroup, Validation.fail(Errors.of("b")), { x, y -> x + y })
+
+        then:
+        result.isFail()
+        result.fail() == ["a", "b"]
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.function.BiFunction
+
+import static com.github.janbols.domain.PersonForm.Field.EMAIL
+import static com.github.janbols.domain.PersonForm.Field.FORM
+import static com.github.janbols.validation.EvaluationMode.*
+import static com.github.janbols.validation.ValidationRule.combine
+
+class EvaluationModeSpec extends Specification {
+
+    def evaluated = []
+
+    def failing(String... errors) {
+        return { value, target ->
+            evaluated << errors[0]
+            Validation.fail(Errors.of(errors))
+        } as ValidationRule
+    }
+
+    def succeeding(String name) {
+        return { value, target ->
+            evaluated << name
+            Validation.success(value)
+        } as ValidationRule
+    }
+
+    def takeFirst = { a, b -> a } as BiFunction
+
+
+    @Unroll
+    def "#mode evaluates the branches of a combine until its budget is used up"() {
+        given:
+        def rule = combine(
+                combine(succeeding("ok"), failing("first", "second"), takeFirst),
+                combine(failing("third"), failing("fourth"), takeFirst),
+                takeFirst)
+
+        expect:
+        [rule, RuleCompiler.compile(rule), RuleOptimizer.optimize(rule)].every { r ->
+            evaluated.clear()
+            def result = r.validate("value", EMAIL, mode)
+            result.fail() == expectedErrors && evaluated == expectedEvaluated
+        }
+
+        where:
+        mode           | expectedErrors                           | expectedEvaluated
+        ALL            | ["first", "second", "third", "fourth"]   | ["ok", "first", "third", "fourth"]
+        FAIL_FAST      | ["first"]                                | ["ok", "first"]
+        maxErrors(2)   | ["first", "second"]                      | ["ok", "first"]
+        maxErrors(3)   | ["first", "second", "third"]             | ["ok", "first", "third"]
+        maxErrors(100) | ["first", "second", "third", "fourth"]   | ["ok", "first", "third", "fourth"]
+    }
+
+    def "combines of more than three rules skip their remaining branches too"() {
+        given:
+        def rule = ValidationRule.combine(failing("first"), succeeding("second"), failing("third"), succeeding("fourth"),
+                { a, b, c, d -> a } as Functions.F4)
+
+        when:
+        def result = rule.validate("value", EMAIL, FAIL_FAST)
+
+        then:
+        result.fail() == ["first"]
+        evaluated == ["first"]
+    }
+
+    def "the same rule validates in every mode, one call after the other"() {
+        given:
+        def rule = combine(failing("first"), failing("second"), takeFirst)
+
+        expect:
+        rule.validate("value", EMAIL, FAIL_FAST).fail() == ["first"]
+        rule.validate("value", EMAIL).fail() == ["first", "second"]
+        rule.validate("value", EMAIL, ALL).fail() == ["first", "second"]
+        rule.compile(EMAIL).validate("value", FAIL_FAST).fail() == ["first"]
+    }
+
+    def "a valid input gives the same result in every mode"() {
+        given:
+        def validator = RuleComposingPersonValidator.personRule(new UserRepo.InMemory([:])).compile(FORM)
+        def form = new PersonForm("Jan", "Bols", "foo@bar.com", "32")
+
+        expect:
+        validator.validate(form, FAIL_FAST).success() == validator.validate(form).success()
+    }
+
+    def "failing fast skips the user repo lookup of a later branch"() {
+        given:
+        def lookups = 0
+        def userRepo = { name -> lookups++; Optional.empty() } as UserRepo
+        def rule = combine(
+                RuleComposingPersonValidator.emailRule(),
+                RuleComposingPersonValidator.nameRule().chain(RuleComposingPersonValidator.doesNotExistInUserRepo(userRepo)),
+                takeFirst)
+        def form = new PersonForm("Jan", "Bols", "foobar.com", "32")
+
+        when:
+        def failingFast = rule.validate(form, FORM, FAIL_FAST)
+        def all = rule.validate(form, FORM)
+
+        then:
+        failingFast.fail().size() == 1
+        all.fail().size() == 1
+        lookups == 1
+    }
+
+    def "a budget must be positive"() {
+        when:
+        maxErrors(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.janbols.validation
+
+import com.github.janbols.LogStructuredUserRepo
+import com.github.janbols.domain.PersonName
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class LogStructuredUserRepoSpec extends Specification {
+
+    Path directory = Files.createTempDirectory("users")
+
+    def trumpo = new PersonName("Donaldo", "Trumpo")
+    def bols = new PersonName("Jan", "Bols")
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+
+    def "registered names are found, also after reopening the log"() {
+        given:
+        def repo = LogStructuredUserRepo.open(directory, 1024)
+
+        when:
+        repo.register(trumpo, 1)
+        repo.register(bols, 2)
+        repo.remove(bols)
+        repo.register(trumpo, 3)
+
+        then:
+        repo.findIdBy(trumpo) == Optional.of(3L)
+        repo.findIdBy(bols) == Optional.empty()
+
+        when:
+        repo.close()
+        def reopened = LogStructuredUserRepo.open(directory, 1024)
+
+        then:
+        reopened.findIdBy(trumpo) == Optional.of(3L)
+        reopened.findIdBy(bols) == Optional.empty()
+        reopened.size() == 1
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "a torn record at the end of the log is cut off"() {
+        given:
+        def repo = LogStructuredUserRepo.open(directory, 1024)
+        repo.register(trumpo, 1)
+        repo.register(bols, 2)
+        repo.close()
+        def segment = Files.list(directory).findFirst().get()
+        def bytes = Files.readAllBytes(segment)
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3))
+
+        when:
+        def reopened = LogStructuredUserRepo.open(directory, 1024)
+        reopened.register(new PersonName("Mata", "Hari"), 3)
+        reopened.close()
+        reopened = LogStructuredUserRepo.open(directory, 1024)
+
+        then:
+        reopened.findIdBy(trumpo) == Optional.of(1L)
+        reopened.findIdBy(bols) == Optional.empty()
+        reopened.findIdBy(new PersonName("Mata", "Hari")) == Optional.of(3L)
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "sealed segments are compacted into the latest registrations"() {
+        given:
+        def repo = LogStructuredUserRepo.open(directory, 64)
+        (1..20).each { repo.register(new PersonName("Jan$it", "Bols"), it) }
+        (1..20).each { repo.register(new PersonName("Jan$it", "Bols"), it + 100) }
+        (1..10).each { repo.remove(new PersonName("Jan$it", "Bols")) }
+
+        when:
+        repo.compact()
+
+        then:
+        repo.segmentCount() <= 3
+        repo.compactionFailures() == 0
+        (1..10).every { repo.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.empty() }
+        (11..20).every { repo.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it + 100L) }
+
+        when:
+        repo.close()
+        def reopened = LogStructuredUserRepo.open(directory, 64)
+
+        then:
+        reopened.size() == 10
+        (11..20).every { reopened.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it + 100L) }
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "a crash before the compacted segments are deleted doesn't bring back removed names"() {
+        given: "two sealed segments, the newest one removing a name of the oldest one"
+        def repo = LogStructuredUserRepo.open(directory, 64)
+        (1..3).each { repo.register(new PersonName("Jan$it", "Bols"), it) }
+        repo.remove(new PersonName("Jan1", "Bols"))
+        (4..6).each { repo.register(new PersonName("Jan$it", "Bols"), it) }
+        assert repo.segmentCount() == 3
+        def oldest = Files.list(directory).sorted().findFirst().get()
+        def oldestBytes = Files.readAllBytes(oldest)
+
+        when: "the oldest segment is still there after compacting"
+        repo.compact()
+        repo.close()
+        Files.write(oldest, oldestBytes)
+        def reopened = LogStructuredUserRepo.open(directory, 64)
+
+        then:
+        reopened.findIdBy(new PersonName("Jan1", "Bols")) == Optional.empty()
+        (2..6).every { reopened.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it as Long) }
+
+        when: "the next compaction deletes it"
+        reopened.compact()
+
+        then:
+        !Files.exists(oldest)
+        reopened.segmentCount() == 2
+        reopened.findIdBy(new PersonName("Jan1", "Bols")) == Optional.empty()
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "registrations keep going to the full segment while the next one can't be started"() {
+        given:
+        def repo = LogStructuredUserRepo.open(directory, 64)
+        def blocking = Files.createFile(directory.resolve("segment-0000000000000001.log"))
+
+        when:
+        (1..5).each { repo.register(new PersonName("Jan$it", "Bols"), it) }
+
+        then:
+        Files.size(directory.resolve("segment-0000000000000000.log")) > 64
+        (1..5).every { repo.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it as Long) }
+
+        when:
+        Files.delete(blocking)
+        repo.register(bols, 6)
+        repo.close()
+        def reopened = LogStructuredUserRepo.open(directory, 64)
+
+        then:
+        Files.exists(directory.resolve("segment-0000000000000002.log"))
+        (1..5).every { reopened.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it as Long) }
+        reopened.findIdBy(bols) == Optional.of(6L)
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "registrations racing with closing the log are either committed or failed"() {
+        given:
+        def repo = LogStructuredUserRepo.open(directory, 4096)
+        def executor = Executors.newFixedThreadPool(8)
+        def registrations = (1..200).collect { i -> executor.submit { repo.register(new PersonName("Jan$i", "Bols"), i) } }
+
+        when:
+        repo.close()
+        def committed = (1..200).findAll { i ->
+            try {
+                registrations[i - 1].get(10, TimeUnit.SECONDS)
+                true
+            } catch (ExecutionException e) {
+                false
+            }
+        }
+        executor.shutdown()
+        def reopened = LogStructuredUserRepo.open(directory, 4096)
+
+        then:
+        committed.every { reopened.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it as Long) }
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "concurrent registrations are all committed"() {
+        given:
+        def repo = LogStructuredUserRepo.open(directory, 4096)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        (1..500).collect { i -> executor.submit { repo.register(new PersonName("Jan$i", "Bols"), i) } }*.get()
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+        repo.close()
+        def reopened = LogStructuredUserRepo.open(directory, 4096)
+
+        then:
+        reopened.size() == 500
+        (1..500).every { reopened.findIdBy(new PersonName("Jan$it", "Bols")) == Optional.of(it as Long) }
+
+        cleanup:
+        reopened?.close()
+    }
+}
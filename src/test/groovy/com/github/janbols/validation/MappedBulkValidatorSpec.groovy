@@ -0,0 +1,86 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.bulk.BulkValidationPipeline
+import com.github.janbols.bulk.MappedBulkValidator
+import com.github.janbols.bulk.RecordFormat
+import com.github.janbols.bulk.RecordSink
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+
+import static com.github.janbols.domain.PersonForm.Field.FORM
+
+class MappedBulkValidatorSpec extends Specification {
+
+    def userRepo = new UserRepo.InMemory([1L: new PersonName("Donaldo", "Trumpo")])
+    def validator = new RuleComposingPersonValidator(userRepo)
+    def compiledValidator = RuleComposingPersonValidator.personRule(userRepo).compile(FORM)
+
+    def input = Files.createTempFile("persons", ".csv")
+
+    def cleanup() {
+        Files.deleteIfExists(input)
+    }
+
+    def outcomes(runner) {
+        def outcomes = []
+        def validSink = { lineNumber, person -> outcomes << [lineNumber, person] } as RecordSink
+        def errorSink = { lineNumber, errors -> outcomes << [lineNumber, errors] } as RecordSink
+        def summary = runner(validSink, errorSink)
+        return [summary.valid, summary.invalid, outcomes]
+    }
+
+
+    @Unroll
+    def "gives the same results as the streaming pipeline with #workers workers and chunks of #chunkBytes bytes"() {
+        given:
+        input.text = "firstName,lastName,email,age\r\n" +
+                (1..500).collect { "Jan$it,Bols,foo@bar.com,${it % 150}" }.join("\r\n") +
+                "\r\nDonaldo,Trumpo,foo@bar.com,5\n,,,\nJan,Bols"
+
+        when:
+        def expected = outcomes { valid, errors ->
+            new BulkValidationPipeline(validator.&validate, 16, 2, 1).run(input, RecordFormat.CSV_WITH_HEADER, valid, errors)
+        }
+        def result = outcomes { valid, errors ->
+            new MappedBulkValidator(compiledValidator.&validate, workers, chunkBytes).run(input, RecordFormat.CSV_WITH_HEADER, valid, errors)
+        }
+
+        then:
+        result == expected
+        result[2].size() == 503
+
+        where:
+        workers | chunkBytes
+        1       | 1 << 20
+        4       | 1
+        4       | 100
+        3       | 4096
+    }
+
+    def "chunks end at the end of a line"() {
+        given:
+        input.text = "aaaa\nbb\ncccccc\nd"
+
+        when:
+        def chunks = FileChannel.open(input).withCloseable { MappedBulkValidator.chunks(it, 0, 3) }
+
+        then:
+        chunks.collect { [it.start, it.length] } == [[0L, 5], [5L, 3], [8L, 7], [15L, 1]]
+    }
+
+    def "an empty file has no records"() {
+        when:
+        def result = outcomes { valid, errors ->
+            new MappedBulkValidator(validator.&validate, 2, 10).run(input, RecordFormat.CSV, valid, errors)
+        }
+
+        then:
+        result == [0, 0, []]
+    }
+}
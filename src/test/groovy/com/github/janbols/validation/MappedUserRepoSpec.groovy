@@ -0,0 +1,140 @@
+package com.github.janbols.validation
+
+import com.github.janbols.MappedUserRepo
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonName
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class MappedUserRepoSpec extends Specification {
+
+    def db = (0L..<1000L).collectEntries { [(it): new PersonName("First$it", "L\u00e1st${it % 37}")] }
+
+    def inMemory = new UserRepo.InMemory(db)
+
+    Path file = Files.createTempFile("users", ".snapshot")
+
+    def cleanup() {
+        Files.deleteIfExists(file)
+    }
+
+
+    @Unroll
+    def "finds the same id as the in memory repo for #name"() {
+        given:
+        MappedUserRepo.write(db, file)
+
+        expect:
+        MappedUserRepo.open(file).findIdBy(name) == inMemory.findIdBy(name)
+
+        where:
+        name << [
+                new PersonName("First0", "L\u00e1st0"),
+                new PersonName("First999", "L\u00e1st0"),
+                new PersonName("First999", "Last0"),
+                new PersonName("First1000", "L\u00e1st1"),
+                new PersonName("Fi", "rst0L\u00e1st0"),
+        ]
+    }
+
+    @Unroll
+    def "matches the UTF-8 bytes of #name without encoding it"() {
+        given:
+        def names = [1L: new PersonName("\u00e1\u0800\uabcd", "\ud83d\ude00"), 2L: new PersonName("A\ud800", "\ude00B")]
+        MappedUserRepo.write(names, file)
+
+        expect:
+        MappedUserRepo.open(file).findIdBy(name) == new UserRepo.InMemory(names).findIdBy(name)
+
+        where:
+        name << [
+                new PersonName("\u00e1\u0800\uabcd", "\ud83d\ude00"),
+                new PersonName("\u00e1\u0800\uabce", "\ud83d\ude00"),
+                new PersonName("\u00e1\u0800\uabcd", "\ud83d\ude01"),
+                new PersonName("\u00e1\u0800", "\ud83d\ude00"),
+                new PersonName("A\ud800", "\ude00B"),
+                new PersonName("A\ud800", "\ude00"),
+        ]
+    }
+
+    def "finds every user"() {
+        given:
+        MappedUserRepo.write(db, file)
+        def repo = MappedUserRepo.open(file)
+
+        expect:
+        repo.size() == 1000
+        db.every { id, name -> repo.findIdBy(name) == Optional.of(id) }
+        repo.verify()
+    }
+
+    def "finds every user when the slots and names span many mapped windows"() {
+        given:
+        MappedUserRepo.write(db, file)
+        def repo = MappedUserRepo.open(file, 6)
+
+        expect:
+        db.every { id, name -> repo.findIdBy(name) == Optional.of(id) }
+        repo.findIdBy(new PersonName("First1000", "L\u00e1st1")) == Optional.empty()
+        repo.verify()
+    }
+
+    def "a name can only be used once"() {
+        when:
+        MappedUserRepo.write([1L: new PersonName("Jan", "Bols"), 2L: new PersonName("Jan", "Bols")], file)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "a file that isn't a snapshot can't be opened"() {
+        given:
+        MappedUserRepo.write(db, file)
+        def bytes = Files.readAllBytes(file)
+        corrupt(bytes)
+        Files.write(file, bytes)
+
+        when:
+        MappedUserRepo.open(file)
+
+        then:
+        thrown(IOException)
+
+        where:
+        corrupt << [
+                { byte[] content -> content[0] = 0 },
+                { byte[] content -> content[7] = 2 },
+                { byte[] content -> content[12]++ },
+        ]
+    }
+
+    def "a corrupt body is found when verifying"() {
+        given:
+        MappedUserRepo.write(db, file)
+        def bytes = Files.readAllBytes(file)
+        bytes[bytes.length - 1]++
+        Files.write(file, bytes)
+
+        when:
+        MappedUserRepo.open(file).verify()
+
+        then:
+        thrown(IOException)
+    }
+
+    def "a truncated snapshot can't be opened"() {
+        given:
+        MappedUserRepo.write(db, file)
+        def bytes = Files.readAllBytes(file)
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1))
+
+        when:
+        MappedUserRepo.open(file)
+
+        then:
+        thrown(IOException)
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.janbols.validation
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+import java.util.function.BiFunction
+
+import static com.github.janbols.domain.PersonForm.Field.EMAIL
+import static com.github.janbols.validation.ValidationRule.*
+
+class ParallelCombineSpec extends Specification {
+
+    def pool = new ForkJoinPool(4)
+
+    def cleanup() {
+        pool.shutdownNow()
+    }
+
+
+    def "expensive branches run at the same time and accumulate their errors in order"() {
+        given:
+        def bothStarted = new CountDownLatch(2)
+        def failingWhenBothStarted = { String error ->
+            { value, target ->
+                bothStarted.countDown()
+                assert bothStarted.await(5, TimeUnit.SECONDS)
+                Validation.fail(Errors.of(error))
+            } as ValidationRule
+        }
+
+        when:
+        def rule = combineInParallel(pool, RuleCost.FORK_THRESHOLD,
+                failingWhenBothStarted("first"), required, failingWhenBothStarted("third"),
+                { a, b, c -> a } as fj.F3)
+
+        then:
+        rule.validate(" ", EMAIL).fail() == ["first", "email can not be empty.", "third"]
+    }
+
+    def "a pool keeps running branches while others block"() {
+        given: "a pool of a single thread, and more blocking branches than that"
+        def single = new ForkJoinPool(1)
+        def allStarted = new CountDownLatch(3)
+        def blockingUntilAllStarted = ({ value, target ->
+            allStarted.countDown()
+            assert allStarted.await(5, TimeUnit.SECONDS)
+            Validation.success(value)
+        } as ValidationRule).withCost(RuleCost.UNKNOWN)
+        def rule = combineInParallel(single, RuleCost.FORK_THRESHOLD,
+                blockingUntilAllStarted, blockingUntilAllStarted, blockingUntilAllStarted,
+                { a, b, c -> a } as fj.F3)
+
+        expect:
+        rule.validate("value", EMAIL).success() == "value"
+
+        cleanup:
+        single.shutdownNow()
+    }
+
+    def "cheap branches run on the calling thread"() {
+        given:
+        def threads = []
+        def recordingThread = { cost ->
+            ({ value, target ->
+                threads << Thread.currentThread()
+                Validation.success(value)
+            } as ValidationRule).withCost(cost)
+        }
+
+        when:
+        combineInParallel(pool, RuleCost.FORK_THRESHOLD, recordingThread(1), recordingThread(99),
+                { a, b -> a } as BiFunction).validate("value", EMAIL)
+
+        then:
+        threads == [Thread.currentThread(), Thread.currentThread()]
+    }
+
+    def "a parallel combine gives the same result as a combine, also once optimized and compiled"() {
+        given:
+        def expensiveRequired = required.withCost(RuleCost.UNKNOWN)
+        def takeFirst = { a, b -> a } as BiFunction
+        def parallel = combineInParallel(pool, RuleCost.FORK_THRESHOLD,
+                expensiveRequired.chain(maxLength(10)), expensiveRequired.chain(containing("@")), takeFirst)
+        def sequential = combine(required.chain(maxLength(10)), required.chain(containing("@")), takeFirst)
+
+        expect:
+        [parallel, RuleOptimizer.optimize(parallel), RuleCompiler.compile(parallel)].every { rule ->
+            def result = rule.validate(value, EMAIL)
+            def expected = sequential.validate(value, EMAIL)
+            result.isSuccess() ? result.success() == expected.success() : result.fail() == expected.fail()
+        }
+
+        where:
+        value << ["foo@bar.be", "foobar.com", "foo@bar.com", " "]
+    }
+
+    def "the cost of a rule adds up the checks it is made of"() {
+        given:
+        def lookup = { value, target -> Validation.success(value) } as ValidationRule
+
+        expect:
+        RuleCost.of(required) == 1
+        RuleCost.of(required.chain(maxLength(10)).map { it.length() }) == 2
+        RuleCost.of(lookup) == RuleCost.UNKNOWN
+        RuleCost.of(required.chain(lookup.withCost(50))) == 51
+        RuleCost.of(combineInParallel(pool, RuleCost.FORK_THRESHOLD, required, lookup, { a, b -> a } as BiFunction)) == RuleCost.UNKNOWN + 1
+    }
+}
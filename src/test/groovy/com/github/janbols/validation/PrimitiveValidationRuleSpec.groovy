@@ -0,0 +1,69 @@
+package com.github.janbols.validation
+
+import com.google.common.primitives.Ints
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.janbols.domain.PersonForm.Field.AGE
+import static com.github.janbols.validation.ValidationRule.OfDouble
+import static com.github.janbols.validation.ValidationRule.OfInt
+import static com.github.janbols.validation.ValidationRule.OfLong
+
+class PrimitiveValidationRuleSpec extends Specification {
+
+    @Unroll
+    def "parsing '#input' as an int agrees with Ints.tryParse"() {
+        when:
+        def result = OfInt.isInteger.validate(input, AGE)
+
+        then:
+        result.isSuccess() == (Ints.tryParse(input) != null)
+        !result.isSuccess() || result.success() == Ints.tryParse(input)
+        result.isSuccess() || result.fail() == ["age must be an integer."]
+
+        where:
+        input << ["0", "32", "-5", "007", "2147483647", "-2147483648", "2147483648", "-2147483649",
+                  "", "-", "+5", " 5", "5 ", "brol", "1.5", "99999999999"]
+    }
+
+    @Unroll
+    def "trying to parse '#input' as an int agrees with Ints.tryParse"() {
+        expect:
+        NumberParsing.tryParseInt(input) == (Ints.tryParse(input) != null ? Ints.tryParse(input) : NumberParsing.NOT_AN_INT)
+
+        where:
+        input << ["0", "32", "-5", "007", "2147483647", "-2147483648", "2147483648", "", "-", "+5", " 5", "brol"]
+    }
+
+    def "an int range check is fused onto the parsing"() {
+        given:
+        def rule = OfInt.isInteger.between(0, 100)
+
+        expect:
+        rule.validate("100", AGE).success() == 100
+        rule.validate("101", AGE).fail() == ["age must be between 0 and 100."]
+        rule.validate("brol", AGE).fail() == ["age must be an integer."]
+    }
+
+    def "a blank input is an empty optional"() {
+        given:
+        def rule = OfInt.optionalOr(OfInt.isInteger.between(0, 100))
+
+        expect:
+        rule.validate(" ", AGE).success() == Optional.empty()
+        rule.validate(null, AGE).success() == Optional.empty()
+        rule.validate("32", AGE).success() == Optional.of(32)
+    }
+
+    def "longs and doubles are parsed"() {
+        expect:
+        OfLong.isLong.validate("-9223372036854775808", AGE).success() == Long.MIN_VALUE
+        OfLong.isLong.validate("9223372036854775808", AGE).isFail()
+        OfLong.isLong.between(0L, 10L).validate("11", AGE).fail() == ["age must be between 0 and 10."]
+        OfDouble.isDouble.validate("-1.5e3", AGE).success() == -1500d
+        OfDouble.isDouble.validate(".5", AGE).success() == 0.5d
+        OfDouble.isDouble.validate("1e", AGE).fail() == ["age must be a number."]
+        OfDouble.isDouble.validate("NaN", AGE).isFail()
+    }
+
+}
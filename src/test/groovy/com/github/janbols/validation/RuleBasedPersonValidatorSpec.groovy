@@ -9,6 +9,9 @@ import com.github.janbols.validator.RuleBasedPersonValidator
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.janbols.validation.ValidationUtils.BULK_FORMS
+import static com.github.janbols.validation.ValidationUtils.recordingBulkLookups
+
 class RuleBasedPersonValidatorSpec extends Specification {
 
     def validator = new RuleBasedPersonValidator(new UserRepo.InMemory([
@@ -28,6 +31,22 @@ class RuleBasedPersonValidatorSpec extends Specification {
         result.success() == new Person(new PersonName("Jan", "Bols"), new Email("foo@bar.com"), 32)
     }
 
+    @Unroll
+    def "when validating a form with #description age, the person has no age"() {
+        when:
+        def result = validator.validate(form("Jan", "Bols", "foo@bar.com", age))
+
+        then:
+        result.isSuccess()
+        result.success() == new Person(new PersonName("Jan", "Bols"), new Email("foo@bar.com"), null)
+
+        where:
+        age  | description
+        null | "no"
+        ""   | "an empty"
+        "  " | "a blank"
+    }
+
     @Unroll
     def "when validating an invalid form, errors are returned"() {
         when:
@@ -47,6 +66,24 @@ class RuleBasedPersonValidatorSpec extends Specification {
         form("Donaldo", "Trumpo", "foobar.com", "5") | [/.* already exists.*/, /.*email.*/]
     }
 
+    def "when validating all forms, the user repo is queried once and the results keep the order of the forms"() {
+        given:
+        def lookups = []
+
+        when:
+        def results = new RuleBasedPersonValidator(recordingBulkLookups(lookups)).validateAll(BULK_FORMS)
+
+        then:
+        lookups.size() == 1
+        lookups[0] as Set == [new PersonName("Jan", "Bols"), new PersonName("Donaldo", "Trumpo")] as Set
+        results*.isSuccess() == [true, false, false]
+        results.collect { outcome(it) } == BULK_FORMS.collect { outcome(validator.validate(it)) }
+    }
+
+    static outcome(Validation validation) {
+        validation.isSuccess() ? validation.success() : validation.fail()
+    }
+
     static PersonForm form(String first, String last, String email, String age) {
         return new PersonForm(first, last, email, age)
     }
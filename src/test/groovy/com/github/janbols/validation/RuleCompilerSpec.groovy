@@ -0,0 +1,77 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.janbols.domain.PersonForm.Field.AGE
+import static com.github.janbols.domain.PersonForm.Field.FORM
+
+class RuleCompilerSpec extends Specification {
+
+    def personRule = RuleComposingPersonValidator.personRule(new UserRepo.InMemory([
+            1  : new PersonName("Donaldo", "Trumpo")
+            , 2: new PersonName("Mata", "Hari")
+    ]))
+
+    def compiledRule = RuleCompiler.compile(personRule)
+
+    @Unroll
+    def "a compiled rule gives the same result as the rule graph for #form"() {
+        when:
+        def expected = personRule.validate(form, FORM)
+        def result = compiledRule.validate(form, FORM)
+
+        then:
+        result.isSuccess() == expected.isSuccess()
+        result.isSuccess() ? result.success() == expected.success() : result.fail() == expected.fail()
+
+        where:
+        form << [
+                new PersonForm("Jan", "Bols", "foo@bar.com", "32"),
+                new PersonForm("Jan", null, "foo@bar.com", "brol"),
+                new PersonForm(null, "", null, "-5"),
+                new PersonForm("Donaldo", "Trumpo", "foobar.com", "5"),
+                new PersonForm("Jan", "x" * 251, "foo@bar.com" + "x" * 100, "101"),
+        ]
+    }
+
+    def "rules that can't be looked into are called as they are"() {
+        given:
+        def rule = { value, target -> Validation.success(value + 1) } as ValidationRule<Integer, Integer>
+
+        expect:
+        RuleCompiler.compile(rule.chain(ValidationRule.between(0, 10))).validate(4, AGE).success() == 5
+        RuleCompiler.compile(rule.chain(ValidationRule.between(0, 10))).validate(10, AGE).fail() == ["age must be between 0 and 10."]
+    }
+
+    def "wide combines are rule nodes that can be costed, optimized and compiled"() {
+        given:
+        def name = ValidationRule.required.chain(ValidationRule.maxLength(5))
+        def rule = ValidationRule.combine(name, name, name, name,
+                { a, b, c, d -> [a, b, c, d].join(" ") } as Functions.F4)
+        def all = ValidationRule.combineAll({ it.join(" ") } as java.util.function.Function, name, name, name, name, name)
+
+        expect:
+        rule instanceof RuleNode.CombineN
+        all instanceof RuleNode.CombineN
+        RuleCost.of(rule) == 8
+        RuleCost.of(all) == 10
+        [rule, RuleOptimizer.optimize(rule), RuleCompiler.compile(rule)].every {
+            it.validate("Jan", AGE).success() == "Jan Jan Jan Jan" &&
+                    it.validate("Donaldo", AGE).fail() == ["age has exceed max length of 5 characters."] * 4
+        }
+        [all, RuleOptimizer.optimize(all), RuleCompiler.compile(all)].every {
+            it.validate(" ", AGE).fail() == ["age can not be empty."] * 5
+        }
+    }
+
+    def "compiling a compiled rule returns it as it is"() {
+        expect:
+        RuleCompiler.compile(compiledRule).is(compiledRule)
+    }
+
+}
@@ -5,10 +5,16 @@ import com.github.janbols.domain.Email
 import com.github.janbols.domain.Person
 import com.github.janbols.domain.PersonForm
 import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleBasedPersonValidator
 import com.github.janbols.validator.RuleComposingPersonValidator
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.Executors
+
+import static com.github.janbols.validation.ValidationUtils.BULK_FORMS
+import static com.github.janbols.validation.ValidationUtils.recordingBulkLookups
+
 class RuleComposingPersonValidatorSpec extends Specification {
 
     def validator = new RuleComposingPersonValidator(new UserRepo.InMemory([
@@ -28,6 +34,22 @@ class RuleComposingPersonValidatorSpec extends Specification {
         result.success() == new Person(new PersonName("Jan", "Bols"), new Email("foo@bar.com"), 32)
     }
 
+    @Unroll
+    def "when validating a form with #description age, the person has no age"() {
+        when:
+        def result = validator.validate(form("Jan", "Bols", "foo@bar.com", age))
+
+        then:
+        result.isSuccess()
+        result.success() == new Person(new PersonName("Jan", "Bols"), new Email("foo@bar.com"), null)
+
+        where:
+        age  | description
+        null | "no"
+        ""   | "an empty"
+        "  " | "a blank"
+    }
+
     @Unroll
     def "when validating an invalid form, errors are returned"() {
         when:
@@ -47,6 +69,52 @@ class RuleComposingPersonValidatorSpec extends Specification {
         form("Donaldo", "Trumpo", "foobar.com", "5") | [/.* already exists.*/, /.*email.*/]
     }
 
+    def "when validating all forms, the user repo is queried once and the results are those of the rule based validator"() {
+        given:
+        def lookups = []
+
+        when:
+        def results = new RuleComposingPersonValidator(recordingBulkLookups(lookups)).validateAll(BULK_FORMS)
+
+        then:
+        lookups.size() == 1
+        results.collect { outcome(it) } ==
+                new RuleBasedPersonValidator(recordingBulkLookups([])).validateAll(BULK_FORMS).collect { outcome(it) }
+    }
+
+    def "a prefetching validator looks up the name on the given executor and gives the same results"() {
+        given:
+        def executor = Executors.newSingleThreadExecutor()
+        def lookupThreads = []
+        def userRepo = new UserRepo.InMemory([1L: new PersonName("Donaldo", "Trumpo")]) {
+            @Override
+            Optional<Long> findIdBy(PersonName name) {
+                lookupThreads << Thread.currentThread()
+                return super.findIdBy(name)
+            }
+        }
+        def forms = [
+                validForm,
+                form("Donaldo", "Trumpo", "foobar.com", "5"),
+                form("Jan", null, "foo@bar.com", "brol"),
+        ]
+
+        when:
+        def results = forms.collect { new RuleComposingPersonValidator(userRepo, executor).validate(it) }
+
+        then:
+        lookupThreads.size() == 2
+        !lookupThreads.contains(Thread.currentThread())
+        results.collect { outcome(it) } == forms.collect { outcome(validator.validate(it)) }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    static outcome(Validation validation) {
+        validation.isSuccess() ? validation.success() : validation.fail()
+    }
+
     static PersonForm form(String first, String last, String email, String age) {
         return new PersonForm(first, last, email, age)
     }
@@ -0,0 +1,74 @@
+package com.github.janbols.validation
+
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+import com.github.janbols.validator.RuleComposingPersonValidator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.function.BiFunction
+
+import static com.github.janbols.domain.PersonForm.Field.EMAIL
+import static com.github.janbols.domain.PersonForm.Field.FORM
+import static com.github.janbols.validation.ValidationRule.*
+
+class RuleOptimizerSpec extends Specification {
+
+    def takeFirst = { s1, s2 -> s1 } as BiFunction
+
+    def personRule = RuleComposingPersonValidator.personRule(new UserRepo.InMemory([
+            1  : new PersonName("Donaldo", "Trumpo")
+            , 2: new PersonName("Mata", "Hari")
+    ]))
+
+    def optimizedRule = RuleOptimizer.optimize(personRule)
+
+    @Unroll
+    def "an optimized rule gives the same result as the rule graph for #form"() {
+        when:
+        def expected = personRule.validate(form, FORM)
+        def result = optimizedRule.validate(form, FORM)
+
+        then:
+        result.isSuccess() == expected.isSuccess()
+        result.isSuccess() ? result.success() == expected.success() : result.fail() == expected.fail()
+
+        where:
+        form << [
+                new PersonForm("Jan", "Bols", "foo@bar.com", "32"),
+                new PersonForm("Jan", null, "foo@bar.com", "brol"),
+                new PersonForm(null, "  ", null, "-5"),
+                new PersonForm("Donaldo", "Trumpo", "foobar.com", "5"),
+                new PersonForm("Jan", "x" * 251, "foobar.com" + "x" * 100, "101"),
+        ]
+    }
+
+    def "adjacent string checks are fused into one scan"() {
+        when:
+        def rule = RuleOptimizer.optimize(required.chain(combine(maxLength(100), containing("@"), takeFirst)))
+
+        then:
+        rule instanceof RuleNode.StringChecks
+        rule.stages*.size() == [1, 2]
+        rule.validate("foo@bar.com", EMAIL).success() == "foo@bar.com"
+        rule.validate(" ", EMAIL).fail() == ["email can not be empty."]
+        rule.validate("x" * 101, EMAIL).fail() == ["email has exceed max length of 100 characters.", "email should contain @."]
+        rule.validate(null, EMAIL).fail() == ["email can not be empty."]
+    }
+
+    def "redundant checks are removed"() {
+        expect:
+        RuleOptimizer.optimize(required.chain(notNull())) instanceof RuleNode.Required
+        RuleOptimizer.optimize(required.chain(maxLength(10)).chain(required).chain(maxLength(20))).stages*.size() == [1, 1]
+    }
+
+    def "rules that can't be looked into are kept as they are"() {
+        given:
+        def rule = { value, target -> Validation.success(value) } as ValidationRule<String, String>
+
+        expect:
+        RuleOptimizer.optimize(rule).is(rule)
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.janbols.validation
+
+import spock.lang.Specification
+
+import java.util.function.Supplier
+
+class ValidationSpec extends Specification {
+
+    def "a lazy condition does not construct the failing value on success"() {
+        given:
+        def errors = Mock(Supplier)
+
+        when:
+        def result = Validation.condition(true, errors, "value")
+
+        then:
+        0 * errors.get()
+        result.isSuccess()
+        result.success() == "value"
+    }
+
+    def "a lazy condition constructs the failing value on failure"() {
+        given:
+        def errors = Mock(Supplier)
+
+        when:
+        def result = Validation.condition(false, errors, "value")
+
+        then:
+        1 * errors.get() >> ["value is wrong."]
+        result.isFail()
+        result.fail() == ["value is wrong."]
+    }
+
+    def "combining validations accumulates all errors in order"() {
+        when:
+        def result = Validation.combine(
+                Validation.fail(Errors.of("a")), Validation.success(2), Validation.fail(Errors.of("c")), Validation.fail(Errors.of("d")),
+                ValidationRule.combineErrors, { a, b, c, d -> "$a$b$c$d" } as Functions.F4)
+
+        then:
+        result.isFail()
+        result.fail() == ["a", "c", "d"]
+    }
+
+    def "combining successful validations applies the function to all successes"() {
+        when:
+        def result = Validation.combine(
+                Validation.success(1), Validation.success(2), Validation.success(3), Validation.success(4), Validation.success(5),
+                ValidationRule.combineErrors, { a, b, c, d, e -> a + b + c + d + e } as Functions.F5)
+
+        then:
+        result.isSuccess()
+        result.success() == 15
+    }
+
+    def "combining a list of validations passes all successes in order"() {
+        expect:
+        Validation.combineAll((1..20).collect { Validation.success(it) }, ValidationRule.combineErrors, { it.sum() }).success() == 210
+        Validation.combineAll([Validation.success(1), Validation.fail(Errors.of("b")), Validation.fail(Errors.of("c"))],
+                ValidationRule.combineErrors, { it.sum() }).fail() == ["b", "c"]
+    }
+
+}
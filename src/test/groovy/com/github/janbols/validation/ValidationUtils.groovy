@@ -1,10 +1,31 @@
 package com.github.janbols.validation
 
+import com.github.janbols.UserRepo
+import com.github.janbols.domain.PersonForm
+import com.github.janbols.domain.PersonName
+
 class ValidationUtils {
 
+    /**
+     * Forms to validate in bulk: a valid one, one with a name that already exists and one with several errors
+     */
+    static final List<PersonForm> BULK_FORMS = [
+            new PersonForm("Jan", "Bols", "foo@bar.com", "32"),
+            new PersonForm("Donaldo", "Trumpo", "foo@bar.com", "5"),
+            new PersonForm("Jan", null, "foobar.com", "brol"),
+    ].asImmutable()
 
+    /**
+     * A user repo knowing Donaldo Trumpo that adds the names of every bulk lookup to the given list
+     */
+    static UserRepo recordingBulkLookups(List<Collection<PersonName>> lookups) {
+        return new UserRepo.InMemory([1L: new PersonName("Donaldo", "Trumpo")]) {
+            @Override
+            Map<PersonName, Long> findIdsBy(Collection<PersonName> names) {
+                lookups << names
+                return super.findIdsBy(names)
+            }
+        }
+    }
 
 }
-
-
-
@@ -0,0 +1,154 @@
+package com.github.janbols.validation;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.NE;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * {@link ColumnKernels} that copy the characters of a string that is at least a vector long into a char array and
+ * check as many of them at once as the preferred {@link ShortVector} holds, 16 with AVX2 and 32 with AVX-512.
+ * Shorter strings are checked like the scalar kernels do, as copying them costs more than it saves.
+ * The characters are padded with a vector of a character that doesn't change the outcome, so every vector is loaded
+ * whole without masking the lanes after the string.
+ * <p>
+ * Loaded by {@link ColumnKernels#load()}, which falls back to the scalar kernels when the module isn't there.
+ */
+final class VectorColumnKernels implements ColumnKernels {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    /**
+     * The most digits that always fit in an int
+     */
+    private static final int SAFE_DIGITS = 9;
+
+    @Override
+    public void required(String[] values, BitSet rows, BitSet failures) {
+        char[] chars = new char[2 * SPECIES.length()];
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            String value = values[row];
+            if (value == null || value.isEmpty()) {
+                failures.set(row);
+            } else if (!isVisibleAscii(value.charAt(0))) {
+                if (value.length() < SPECIES.length()) {
+                    if (isBlank(value))
+                        failures.set(row);
+                } else {
+                    chars = copy(value, chars, ' ');
+                    if (!hasVisibleAscii(chars, value.length()) && isBlank(value))
+                        failures.set(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Uses {@link String#contains(CharSequence)}, as HotSpot already compiles the search for a character in a string
+     * into vector instructions, which copying the characters into an array first can't beat
+     */
+    @Override
+    public void containing(String[] values, String searchString, BitSet rows, BitSet failures) {
+        ColumnKernels.SCALAR.containing(values, searchString, rows, failures);
+    }
+
+    @Override
+    public void isInteger(String[] values, int[] ints, BitSet rows, BitSet failures) {
+        char[] chars = new char[2 * SPECIES.length()];
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            String value = values[row];
+            long parsed;
+            if (value == null || value.length() < SPECIES.length()) {
+                parsed = NumberParsing.tryParseInt(value);
+            } else {
+                chars = copy(value, chars, '0');
+                boolean negative = chars[0] == '-';
+                int significant = firstSignificantDigit(chars, negative ? 1 : 0, value.length());
+                int digits = value.length() - significant;
+                if (significant < 0 || digits > SAFE_DIGITS + 1)
+                    parsed = NumberParsing.NOT_AN_INT;
+                else if (digits > SAFE_DIGITS)
+                    parsed = NumberParsing.tryParseInt(value);
+                else
+                    parsed = parseDigits(chars, significant, value.length(), negative);
+            }
+            if (parsed == NumberParsing.NOT_AN_INT)
+                failures.set(row);
+            else
+                ints[row] = (int) parsed;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector kernels of " + SPECIES;
+    }
+
+
+    /**
+     * Copies the characters of the given value into the given array, or a larger one when they and a vector after them
+     * don't fit, and pads them with a vector of the given character
+     */
+    private static char[] copy(String value, char[] chars, char padding) {
+        int length = value.length();
+        if (length + SPECIES.length() > chars.length)
+            chars = new char[Math.max(length + SPECIES.length(), chars.length * 2)];
+        value.getChars(0, length, chars, 0);
+        Arrays.fill(chars, length, length + SPECIES.length(), padding);
+        return chars;
+    }
+
+    private static boolean isVisibleAscii(char c) {
+        return c > ' ' && c < 0x80;
+    }
+
+    /**
+     * Whether any of the given characters is visible ascii, which is never whitespace
+     */
+    private static boolean hasVisibleAscii(char[] chars, int length) {
+        for (int i = 0; i < length; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            VectorMask<Short> visible = vector.compare(GT, (short) ' ').and(vector.compare(LT, (short) 0x80));
+            if (visible.anyTrue())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the first digit that isn't a zero, the end when they all are, or -1 when there are no
+     * digits or not all characters are digits
+     */
+    private static int firstSignificantDigit(char[] chars, int from, int to) {
+        if (from == to)
+            return -1;
+        int significant = to;
+        for (int i = from; i < to; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            if (vector.compare(LT, (short) '0').or(vector.compare(GT, (short) '9')).anyTrue())
+                return -1;
+            if (significant == to) {
+                int lane = vector.compare(NE, (short) '0').firstTrue();
+                if (lane < SPECIES.length())
+                    significant = i + lane;
+            }
+        }
+        return significant;
+    }
+
+    /**
+     * Parses at most {@value #SAFE_DIGITS} digits
+     */
+    private static long parseDigits(char[] chars, int from, int to, boolean negative) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = result * 10 + chars[i] - '0';
+        }
+        return negative ? -result : result;
+    }
+}